@@ -0,0 +1,76 @@
+package com.example.blog_api.benchmark;
+
+import com.example.blog_api.entity.CompressedTextConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Post content at rest ({@link CompressedTextConverter}): CPU to write and read it by content
+ * size and Deflate level, against storing the UTF-8 bytes as they are ({@code plain*}).
+ * The {@code inputBytes} and {@code storedBytes} counters of {@code write} give the size side:
+ * their ratio is what the column, the buffer pool and the second-level cache hold per post.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentCompressionBenchmark {
+
+    /* a short post, a typical article and a long-form one */
+    @Param({"2000", "10000", "50000"})
+    int chars;
+
+    @Param({"1", "6", "9"})
+    int level;
+
+    private String text;
+    private byte[] utf8;
+    private byte[] stored;
+
+    @Setup
+    public void setUp() {
+        text = Fixtures.prose(chars, chars);
+        utf8 = text.getBytes(StandardCharsets.UTF_8);
+        stored = CompressedTextConverter.encode(text, level);
+    }
+
+    @Benchmark
+    public byte[] plainWrite() {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String plainRead() {
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] write(Sizes sizes) {
+        byte[] out = CompressedTextConverter.encode(text, level);
+        sizes.inputBytes += utf8.length;
+        sizes.storedBytes += out.length;
+        return out;
+    }
+
+    @Benchmark
+    public String read() {
+        return CompressedTextConverter.decode(stored);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+        public long inputBytes;
+        public long storedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            inputBytes = 0;
+            storedBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.blog_api.benchmark;
+
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.entity.Comment;
+import com.example.blog_api.entity.Post;
+import com.example.blog_api.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/* realistic entity and DTO shapes for the benchmarks, built without a database */
+final class Fixtures {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    private Fixtures() {
+    }
+
+    /* configured like the application's: ISO-8601 dates, modules found on the classpath */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("User " + id)
+                .email("user" + id + "@example.com")
+                .createdAt(T0.plusSeconds(id))
+                .build();
+    }
+
+    static Post post(long id, int comments) {
+        Post post = Post.builder()
+                .id(id)
+                .title("Post title number " + id)
+                .content(text(1200, id))
+                .author(user(id % 50))
+                .commentCount(comments)
+                .createdAt(T0.plusSeconds(id * 60))
+                .comments(new ArrayList<>(comments))
+                .build();
+        for (int i = 0; i < comments; i++) {
+            post.getComments().add(Comment.builder()
+                    .id(id * 100_000 + i)
+                    .post(post)
+                    .text(text(160, i))
+                    .createdAt(post.getCreatedAt().plusSeconds(i))
+                    .build());
+        }
+        return post;
+    }
+
+    static List<Post> posts(int count) {
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) posts.add(post(i, 0));
+        return posts;
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) users.add(user(i));
+        return users;
+    }
+
+    static List<PostSummaryDto> summaries(int count) {
+        List<PostSummaryDto> summaries = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            summaries.add(new PostSummaryDto(i, "Post title number " + i, "User " + i % 50, T0.plusSeconds(i * 60), i % 20, null));
+        }
+        return summaries;
+    }
+
+    /*
+     * Long-form text with the statistics that matter to Deflate: a few hundred distinct words picked
+     * with a skewed (roughly Zipf) frequency, sentences and paragraphs. Real prose compresses a
+     * little worse than this, repeated boilerplate much better.
+     */
+    static String prose(int length, long seed) {
+        Random random = new Random(seed);
+        String[] vocabulary = vocabulary(random, 400);
+        StringBuilder sb = new StringBuilder(length + 16);
+        int inSentence = 0;
+        while (sb.length() < length) {
+            double r = random.nextDouble();
+            String word = vocabulary[(int) (vocabulary.length * r * r * r)];
+            if (inSentence == 0) {
+                sb.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                sb.append(' ').append(word);
+            }
+            if (++inSentence > 6 && random.nextInt(8) == 0) {
+                sb.append(random.nextInt(10) == 0 ? ".\n\n" : ". ");
+                inSentence = 0;
+            } else if (random.nextInt(14) == 0) {
+                sb.append(',');
+            }
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+
+    private static String[] vocabulary(Random random, int size) {
+        String[] common = {"the", "of", "and", "to", "a", "in", "is", "that", "for", "it", "as", "was", "with", "on", "this"};
+        String[] words = new String[size];
+        System.arraycopy(common, 0, words, 0, common.length);
+        for (int i = common.length; i < size; i++) {
+            char[] chars = new char[3 + random.nextInt(8)];
+            for (int j = 0; j < chars.length; j++) chars[j] = (char) ('a' + random.nextInt(26));
+            words[i] = new String(chars);
+        }
+        return words;
+    }
+
+    private static String text(int length, long seed) {
+        StringBuilder sb = new StringBuilder(length);
+        String words = "lorem ipsum dolor sit amet consectetur adipiscing elit sed do eiusmod tempor ";
+        for (int i = (int) (seed % words.length()); sb.length() < length; i++) {
+            sb.append(words.charAt(i % words.length()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.blog_api.benchmark;
+
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.dto.PostInclude;
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.dto.UserDto;
+import com.example.blog_api.entity.Post;
+import com.example.blog_api.entity.User;
+import com.example.blog_api.mapper.PostMapper;
+import com.example.blog_api.mapper.UserMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collection responses: mapping and serializing many posts (batch create results, listings)
+ * and users ({@code GET /api/users}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListBenchmark {
+
+    private static final Set<PostInclude> AUTHOR_ONLY = EnumSet.of(PostInclude.AUTHOR);
+
+    @Param({"1000"})
+    int size;
+
+    private List<Post> posts;
+    private List<User> users;
+    private List<PostDto> postDtos;
+    private CursorPage<PostSummaryDto> summaries;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        posts = Fixtures.posts(size);
+        users = Fixtures.users(size);
+        postDtos = mapPosts();
+        summaries = new CursorPage<>(Fixtures.summaries(size), "cursor");
+        objectMapper = Fixtures.objectMapper();
+    }
+
+    @Benchmark
+    public List<PostDto> mapPosts() {
+        List<PostDto> out = new ArrayList<>(posts.size());
+        for (Post p : posts) out.add(PostMapper.toDto(p, AUTHOR_ONLY));
+        return out;
+    }
+
+    @Benchmark
+    public List<UserDto> mapUsers() {
+        List<UserDto> out = new ArrayList<>(users.size());
+        for (User u : users) out.add(UserMapper.toDto(u));
+        return out;
+    }
+
+    @Benchmark
+    public byte[] serializePosts() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(postDtos);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.blog_api.benchmark;
+
+import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.entity.Post;
+import com.example.blog_api.mapper.PostMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full post view ({@code GET /api/posts/{id}}): entity to DTO mapping and JSON serialization,
+ * by number of comments.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostDtoBenchmark {
+
+    @Param({"0", "100", "10000"})
+    int comments;
+
+    private Post post;
+    private PostDto dto;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        post = Fixtures.post(1, comments);
+        dto = PostMapper.toDto(post);
+        objectMapper = Fixtures.objectMapper();
+    }
+
+    @Benchmark
+    public PostDto map() {
+        return PostMapper.toDto(post);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(PostMapper.toDto(post));
+    }
+}
@@ -5,7 +5,8 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.PropertySource;
 
 @SpringBootApplication
-@PropertySource("classpath:application.env")
+// optional local overrides (DB_URL etc.); not needed when the environment provides them
+@PropertySource(value = "classpath:application.env", ignoreResourceNotFound = true)
 public class BlogApiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,21 @@
+package com.example.blog_api.coalescing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Concurrent calls of the annotated method with equal arguments share one execution: the first
+ * runs, the others wait for its result or exception instead of running too (see {@link CoalescingAspect}).
+ * Only for reads without side effects whose result may be handed to several callers.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+
+    /** Name in the {@code blog.coalescing.calls} metric; defaults to {@code Type.method}. */
+    String value() default "";
+}
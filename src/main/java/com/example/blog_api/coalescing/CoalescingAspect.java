@@ -0,0 +1,114 @@
+package com.example.blog_api.coalescing;
+
+import com.example.blog_api.config.CoalescingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight for {@link Coalesced} methods. The first call for a method and arguments registers
+ * a future and runs; calls arriving while it runs wait on that future, for at most {@code timeout},
+ * after which they stop waiting and run on their own. The entry is removed as soon as the call ends,
+ * so nothing is cached here: a later call runs again.
+ * <p>
+ * Every call is counted in {@code blog.coalescing.calls}, tagged with the method name and a result:
+ * {@code loaded} (ran), {@code shared} (got another call's result), {@code timed_out} or
+ * {@code bypassed} (inside a transaction).
+ */
+@Aspect
+@Component
+@Order(CoalescingAspect.ORDER)
+@ConditionalOnProperty(prefix = "blog.coalescing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingAspect {
+
+    /*
+     * Inside the DTO cache (DtoCacheConfig), so hits never get here, and outside the transaction
+     * advice (lowest precedence), so waiting callers do not hold a connection.
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final CoalescingProperties props;
+    private final MeterRegistry registry;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public CoalescingAspect(CoalescingProperties props, MeterRegistry registry) {
+        this.props = props;
+        this.registry = registry;
+        Gauge.builder("blog.coalescing.in.flight", inFlight, Map::size)
+                .description("Coalesced calls currently running")
+                .register(registry);
+    }
+
+    @Around("@annotation(coalesced)")
+    public Object coalesce(ProceedingJoinPoint pjp, Coalesced coalesced) throws Throwable {
+        MethodSignature signature = (MethodSignature) pjp.getSignature();
+        String name = coalesced.value().isEmpty()
+                ? signature.getDeclaringType().getSimpleName() + "." + signature.getName()
+                : coalesced.value();
+        // the caller's transaction may hold uncommitted changes that another caller must not see
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            count(name, "bypassed");
+            return pjp.proceed();
+        }
+        Key key = new Key(signature.getMethod(), Arrays.asList(pjp.getArgs()));
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running == null) {
+            count(name, "loaded");
+            return lead(pjp, key, mine);
+        }
+        try {
+            Object result = running.get(props.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            count(name, "shared");
+            return result;
+        } catch (ExecutionException e) {
+            count(name, "shared");
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            // the running call is stuck; queueing behind it any longer would only stack up callers
+            count(name, "timed_out");
+            return pjp.proceed();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name, e);
+        }
+    }
+
+    private Object lead(ProceedingJoinPoint pjp, Key key, CompletableFuture<Object> future) throws Throwable {
+        try {
+            Object result = pjp.proceed();
+            future.complete(result);
+            return result;
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private void count(String name, String result) {
+        registry.counter("blog.coalescing.calls", "name", name, "result", result).increment();
+    }
+
+    private record Key(Method method, List<Object> args) {
+    }
+}
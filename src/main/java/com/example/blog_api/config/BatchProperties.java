@@ -0,0 +1,18 @@
+package com.example.blog_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits for the batch create and bulk delete endpoints.
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.batch")
+public class BatchProperties {
+
+    /* items accepted per request; the whole batch is held in one persistence context */
+    private int maxItems = 10_000;
+
+    /* rows removed per transaction by bulk deletes; each chunk commits and releases its locks */
+    private int deleteChunkSize = 1000;
+}
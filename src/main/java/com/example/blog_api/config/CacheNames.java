@@ -0,0 +1,14 @@
+package com.example.blog_api.config;
+
+/* names of the Spring caches: mapped DTOs keyed by entity id, and the lookups in front of them */
+public final class CacheNames {
+
+    public static final String POSTS = "postDtos";
+    public static final String USERS = "userDtos";
+
+    /* lower-cased email -> user id, see UserEmailCache */
+    public static final String USER_IDS_BY_EMAIL = "userIdsByEmail";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.blog_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the single-flight layer in front of {@code @Coalesced} reads.
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.coalescing")
+public class CoalescingProperties {
+
+    /* off: every call runs on its own */
+    private boolean enabled = true;
+
+    /* how long a call waits for the identical one already running before it runs itself */
+    private Duration timeout = Duration.ofSeconds(2);
+}
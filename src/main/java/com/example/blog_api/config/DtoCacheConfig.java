@@ -0,0 +1,76 @@
+package com.example.blog_api.config;
+
+import com.example.blog_api.coalescing.CoalescingAspect;
+import com.example.blog_api.dto.CommentDto;
+import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.dto.UserDto;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.CompositeCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * In-process caches for fully mapped DTOs, on top of the entity-level second-level cache.
+ * Stats are recorded so actuator publishes cache.gets (hit/miss), cache.evictions and
+ * cache.eviction.weight per cache under /actuator/metrics.
+ */
+@Configuration
+// outermost: a hit returns before request coalescing or a transaction is entered
+@EnableCaching(order = CoalescingAspect.ORDER - 1)
+@EnableConfigurationProperties({DtoCacheProperties.class, UserEmailCacheProperties.class})
+public class DtoCacheConfig {
+
+    // rough per-object overhead of a DTO plus its boxed fields
+    private static final int OBJECT_OVERHEAD = 64;
+
+    @Bean
+    public CacheManager cacheManager(DtoCacheProperties props, UserEmailCacheProperties emailProps) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(props.getMaxWeightBytes())
+                .weigher(DtoCacheConfig::weigh)
+                .expireAfterWrite(props.getTtl())
+                .recordStats());
+        manager.setAllowNullValues(false);
+        manager.setCacheNames(props.isEnabled() ? List.of(CacheNames.POSTS, CacheNames.USERS) : List.of());
+        manager.registerCustomCache(CacheNames.USER_IDS_BY_EMAIL, Caffeine.newBuilder()
+                .maximumSize(emailProps.getMaxSize())
+                .expireAfterWrite(emailProps.getTtl())
+                .recordStats()
+                .build());
+        // puts and evictions inside a transaction are applied only after it commits
+        CacheManager transactional = new TransactionAwareCacheManagerProxy(manager);
+        if (props.isEnabled()) return transactional;
+        // the DTO caches resolve to caches that never hold anything; the email cache stays
+        CompositeCacheManager withoutDtoCaches = new CompositeCacheManager(transactional);
+        withoutDtoCaches.setFallbackToNoOpCache(true);
+        return withoutDtoCaches;
+    }
+
+    static int weigh(Object key, Object value) {
+        if (value instanceof PostDto p) {
+            long size = OBJECT_OVERHEAD + chars(p.getTitle()) + chars(p.getContent()) + chars(p.getAuthorName());
+            if (p.getComments() != null) {
+                for (CommentDto c : p.getComments()) {
+                    size += OBJECT_OVERHEAD + chars(c.getText());
+                }
+            }
+            return (int) Math.min(size, Integer.MAX_VALUE);
+        }
+        if (value instanceof UserDto u) {
+            return OBJECT_OVERHEAD + chars(u.getName()) + chars(u.getEmail());
+        }
+        return OBJECT_OVERHEAD;
+    }
+
+    private static int chars(String s) {
+        return s == null ? 0 : 2 * s.length();
+    }
+}
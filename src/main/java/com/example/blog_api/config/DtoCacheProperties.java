@@ -0,0 +1,25 @@
+package com.example.blog_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bounds of the service-level DTO caches (see CacheNames).
+ * Each cache is bounded by the estimated heap footprint of its entries, not their count,
+ * so a handful of posts with thousands of comments cannot crowd out everything else.
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.cache.dto")
+public class DtoCacheProperties {
+
+    /* off: every getPostById and getUserById call loads and maps the entities */
+    private boolean enabled = true;
+
+    /* estimated bytes per cache */
+    private long maxWeightBytes = 64L * 1024 * 1024;
+
+    /* safety net for entries that were missed by invalidation */
+    private Duration ttl = Duration.ofMinutes(30);
+}
@@ -0,0 +1,47 @@
+package com.example.blog_api.config;
+
+import com.example.blog_api.metrics.SqlStatementCounter;
+import com.example.blog_api.metrics.SqlStatementMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Per-request SQL statement counting. Service timers come from {@code @Timed} on the service
+ * implementations; repository, Hibernate and cache metrics are bound by Spring Boot.
+ */
+@Configuration
+@EnableConfigurationProperties(MetricsProperties.class)
+public class MetricsConfig {
+
+    /* wraps any inspector configured in properties rather than replacing it */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounting() {
+        return props -> props.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new SqlStatementCounter(inspector(props.get(AvailableSettings.STATEMENT_INSPECTOR))));
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(MeterRegistry registry,
+                                                                                      MetricsProperties props) {
+        FilterRegistrationBean<SqlStatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementMetricsFilter(registry, props.isSqlCountHeader()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static StatementInspector inspector(Object configured) {
+        if (configured == null) return null;
+        if (configured instanceof StatementInspector inspector) return inspector;
+        Class<?> type = configured instanceof Class<?> c ? c : ClassUtils.resolveClassName(configured.toString(), null);
+        return (StatementInspector) BeanUtils.instantiateClass(type);
+    }
+}
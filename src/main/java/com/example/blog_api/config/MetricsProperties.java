@@ -0,0 +1,15 @@
+package com.example.blog_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Application-specific metrics settings.
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.metrics")
+public class MetricsProperties {
+
+    /* per-request SQL statement count as a response header; off in the prod profile */
+    private boolean sqlCountHeader = true;
+}
@@ -0,0 +1,28 @@
+package com.example.blog_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the optional R2DBC read path served under /api/reactive.
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.reactive")
+public class ReactiveProperties {
+
+    /* off by default: the beans below are not created and nothing connects through R2DBC */
+    private boolean enabled = false;
+
+    /* e.g. r2dbc:mysql://localhost:3306/blog; the same database the JPA side uses */
+    private String url;
+    private String username;
+    private String password;
+
+    /* connections are only held while a query's rows are read, so a small pool serves many clients */
+    private int poolInitialSize = 2;
+    private int poolMaxSize = 10;
+    private Duration poolMaxIdleTime = Duration.ofMinutes(30);
+    private Duration poolMaxAcquireTime = Duration.ofSeconds(5);
+}
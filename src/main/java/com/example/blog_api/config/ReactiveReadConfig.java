@@ -0,0 +1,56 @@
+package com.example.blog_api.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+/**
+ * Connection pool and {@link DatabaseClient} for the read-only R2DBC path.
+ * <p>
+ * Boot's R2DBC auto-configuration is excluded in application.yaml, and the pool is deliberately
+ * not a bean: a {@code ConnectionFactory} bean makes Boot skip the JDBC DataSource, and an R2DBC
+ * transaction manager would displace the JPA one. Reads on this path run without a transaction.
+ */
+@Configuration
+@EnableConfigurationProperties(ReactiveProperties.class)
+@ConditionalOnProperty(prefix = "blog.reactive", name = "enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ReactiveProperties props) {
+        pool = connectionPool(props);
+        return DatabaseClient.create(pool);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (pool != null) pool.dispose();
+    }
+
+    private static ConnectionPool connectionPool(ReactiveProperties props) {
+        if (!StringUtils.hasText(props.getUrl())) {
+            throw new IllegalStateException("blog.reactive.url must be set when blog.reactive.enabled is true");
+        }
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(props.getUrl()).mutate();
+        if (StringUtils.hasText(props.getUsername())) options.option(ConnectionFactoryOptions.USER, props.getUsername());
+        if (props.getPassword() != null) options.option(ConnectionFactoryOptions.PASSWORD, props.getPassword());
+        ConnectionPoolConfiguration config = ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("blog-reactive")
+                .initialSize(props.getPoolInitialSize())
+                .maxSize(props.getPoolMaxSize())
+                .maxIdleTime(props.getPoolMaxIdleTime())
+                .maxAcquireTime(props.getPoolMaxAcquireTime())
+                .build();
+        return new ConnectionPool(config);
+    }
+}
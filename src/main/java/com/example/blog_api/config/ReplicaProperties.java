@@ -0,0 +1,39 @@
+package com.example.blog_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas that serve {@code @Transactional(readOnly = true)} work.
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.replicas")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    private Selection selection = Selection.ROUND_ROBIN;
+
+    /* a replica further behind than this is skipped; with none left, reads go to the primary */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /* how often the heartbeat is written on the primary and read back on each replica */
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+    private List<Instance> instances = new ArrayList<>();
+
+    public enum Selection { ROUND_ROBIN, LEAST_LOADED }
+
+    @Data
+    public static class Instance {
+        private String url;
+        /* default to spring.datasource.username / password */
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.blog_api.config;
+
+import com.example.blog_api.datasource.Replica;
+import com.example.blog_api.datasource.ReplicaLagMonitor;
+import com.example.blog_api.datasource.ReplicaReadJpaDialect;
+import com.example.blog_api.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces Boot's single pool with a primary pool plus one pool per read replica, routed by
+ * {@link ReplicaRoutingDataSource}. All pools take their settings from {@code spring.datasource.hikari};
+ * replicas override url, credentials and size, and hand out read-only connections.
+ * <p>
+ * The pools are not beans of their own, so JPA, Liquibase and the health check keep seeing a
+ * single DataSource. Boot binds metrics for the primary pool; replica pools are bound here.
+ * <p>
+ * Read-only transactions stop adding to Hibernate's second-level and query caches (see
+ * {@link ReplicaReadJpaDialect}); only reads that run read-write, such as the single-post and
+ * single-user loads, fill them.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "blog.replicas", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ScheduledExecutorService heartbeat;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaProperties props,
+                                 Environment environment, MeterRegistry registry) {
+        if (props.getInstances().isEmpty()) {
+            throw new IllegalStateException("blog.replicas.instances must list at least one replica when blog.replicas.enabled is true");
+        }
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) primary.setPoolName("primary");
+        pools.add(primary);
+
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < props.getInstances().size(); i++) {
+            ReplicaProperties.Instance instance = props.getInstances().get(i);
+            if (!StringUtils.hasText(instance.getUrl())) {
+                throw new IllegalStateException("blog.replicas.instances[" + i + "].url must be set");
+            }
+            HikariDataSource pool = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            pool.setJdbcUrl(instance.getUrl());
+            pool.setUsername(instance.getUsername() != null ? instance.getUsername() : dataSourceProperties.determineUsername());
+            pool.setPassword(instance.getPassword() != null ? instance.getPassword() : dataSourceProperties.determinePassword());
+            pool.setMaximumPoolSize(instance.getMaximumPoolSize());
+            pool.setPoolName("replica-" + i);
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            pools.add(pool);
+            Replica replica = new Replica(pool.getPoolName(), pool);
+            Gauge.builder("blog.datasource.replica.lag", replica,
+                            r -> r.getLag() == null ? Double.NaN : r.getLag().toMillis() / 1000.0)
+                    .description("Age of the heartbeat read from the replica; NaN while unknown")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.getName())
+                    .register(registry);
+            replicas.add(replica);
+        }
+
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replicas, props.getMaxLag(), Clock.systemUTC());
+        heartbeat = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-heartbeat-"));
+        long interval = props.getHeartbeatInterval().toMillis();
+        // replicas receive no reads until their first heartbeat has been read; the first beat waits
+        // one interval so Liquibase has created the heartbeat table on a fresh database
+        heartbeat.scheduleWithFixedDelay(monitor::beat, interval, interval, TimeUnit.MILLISECONDS);
+
+        return ReplicaRoutingDataSource.routed(primary, replicas, props.getSelection(), props.getMaxLag());
+    }
+
+    /* the transaction manager takes its dialect from the entity manager factory */
+    @Bean
+    public static BeanPostProcessor replicaReadJpaDialect() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean factory) {
+                    factory.setJpaDialect(new ReplicaReadJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @PreDestroy
+    public void close() {
+        if (heartbeat != null) heartbeat.shutdownNow();
+        pools.forEach(HikariDataSource::close);
+    }
+}
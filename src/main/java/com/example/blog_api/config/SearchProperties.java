@@ -0,0 +1,24 @@
+package com.example.blog_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-process post search index.
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.search")
+public class SearchProperties {
+
+    /* directory for the index files; blank means a temporary directory removed on shutdown */
+    private String indexPath = "";
+
+    /* the index is rebuilt from the database on every start, in id ranges read in parallel */
+    private int rebuildThreads = 4;
+    private int rebuildBatchSize = 1000;
+
+    /* how long a committed change may take to become searchable */
+    private Duration maxStaleness = Duration.ofSeconds(1);
+}
@@ -0,0 +1,126 @@
+package com.example.blog_api.config;
+
+import com.example.blog_api.entity.Comment;
+import com.example.blog_api.entity.Post;
+import com.example.blog_api.entity.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache backed by an embedded Caffeine JCache provider.
+ * Every region is created here with an explicit bound; Hibernate is configured to fail
+ * on unknown regions rather than silently create an unbounded one.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties props) {
+        // a private manager per context; the provider's default one is JVM-wide and
+        // would clash when several application contexts run side by side (e.g. tests)
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("blog-api-l2-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        create(cacheManager, Post.CACHE_REGION, props.getPosts());
+        create(cacheManager, User.CACHE_REGION, props.getUsers());
+        create(cacheManager, Comment.CACHE_REGION, props.getComments());
+        create(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, props.getQueryResults());
+        // one entry per table; must never expire or query results could be served stale
+        create(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new SecondLevelCacheProperties.Region(10_000, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, new CacheModeAwareRegionFactory());
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+        };
+    }
+
+    private void create(CacheManager cacheManager, String region, SecondLevelCacheProperties.Region settings) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(OptionalLong.of(settings.getMaxSize()));
+        if (settings.getTtl() != null) {
+            config.setExpireAfterWrite(OptionalLong.of(settings.getTtl().toNanos()));
+        }
+        // Hibernate stores immutable cache entries, so copying them on every access is pure overhead
+        config.setStoreByValue(false);
+        config.setStatisticsEnabled(true);
+        cacheManager.createCache(region, config);
+    }
+
+    /*
+     * Hibernate stores a query result after a cache miss even when the session's cache mode only
+     * allows reads (GET); entity loads do respect it. Read-only transactions rely on GET to keep
+     * what a lagging replica returns out of the cache (see ReplicaReadJpaDialect).
+     */
+    static class CacheModeAwareRegionFactory extends JCacheRegionFactory {
+
+        @Override
+        protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor factory) {
+            StorageAccess storage = super.createQueryResultsRegionStorageAccess(regionName, factory);
+            return new StorageAccess() {
+                @Override
+                public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+                    return storage.getFromCache(key, session);
+                }
+
+                @Override
+                public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+                    if (session.getCacheMode().isPutEnabled()) storage.putIntoCache(key, value, session);
+                }
+
+                @Override
+                public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+                    storage.removeFromCache(key, session);
+                }
+
+                @Override
+                public void clearCache(SharedSessionContractImplementor session) {
+                    storage.clearCache(session);
+                }
+
+                @Override
+                public boolean contains(Object key) {
+                    return storage.contains(key);
+                }
+
+                @Override
+                public void evictData() {
+                    storage.evictData();
+                }
+
+                @Override
+                public void evictData(Object key) {
+                    storage.evictData(key);
+                }
+
+                @Override
+                public void release() {
+                    storage.release();
+                }
+            };
+        }
+    }
+}
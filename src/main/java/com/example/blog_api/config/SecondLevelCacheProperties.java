@@ -0,0 +1,34 @@
+package com.example.blog_api.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizes and TTLs of the Hibernate second-level cache regions.
+ * Eviction inside each region is Caffeine's W-TinyLFU, which behaves like LRU for
+ * recency-heavy traffic but keeps frequently read entries when a scan passes through.
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.cache.l2")
+public class SecondLevelCacheProperties {
+
+    private Region posts = new Region(50_000, Duration.ofMinutes(10));
+    private Region users = new Region(20_000, Duration.ofMinutes(30));
+    private Region comments = new Region(200_000, Duration.ofMinutes(10));
+
+    /* results of queries marked cacheable, invalidated by any write to the tables they read */
+    private Region queryResults = new Region(5_000, Duration.ofMinutes(1));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private long maxSize;
+        /* time to live after the entry was written; null means entries only leave by eviction */
+        private Duration ttl;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.blog_api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/* scheduling drives the trending refresh and snapshots (TrendingTracker) */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(TrendingProperties.class)
+public class TrendingConfig {
+}
@@ -0,0 +1,29 @@
+package com.example.blog_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-memory trending counters behind {@code /api/posts/trending}.
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.trending")
+public class TrendingProperties {
+
+    /* Count-Min sketch cells per row (power of two); more cells, fewer collisions between posts */
+    private int sketchWidth = 2048;
+
+    /* ranking candidates tracked in the bucket being counted (power of two) */
+    private int heavyHitters = 1024;
+
+    /* posts ranked and persisted per window and metric; also the largest limit served */
+    private int rankingSize = 100;
+
+    /* how often the windows slide and the rankings are recomputed */
+    private Duration refreshInterval = Duration.ofSeconds(10);
+
+    /* how often the rankings are written to trending_snapshots */
+    private Duration snapshotInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,21 @@
+package com.example.blog_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bounds of the email to user id cache behind {@code GET /api/users/by-email}.
+ * Entries are a short string and a boxed id each, so they are bounded by count.
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.cache.user-emails")
+public class UserEmailCacheProperties {
+
+    /* emails remembered, known and unknown ones alike */
+    private long maxSize = 100_000;
+
+    /* safety net for entries that were missed by invalidation */
+    private Duration ttl = Duration.ofMinutes(30);
+}
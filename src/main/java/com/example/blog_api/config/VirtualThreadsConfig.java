@@ -0,0 +1,22 @@
+package com.example.blog_api.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+/**
+ * Refuses to start the "virtual" profile on a runtime without virtual threads, where Spring Boot
+ * would otherwise silently fall back to platform thread pools.
+ */
+@Configuration
+@Profile("virtual")
+public class VirtualThreadsConfig {
+
+    public VirtualThreadsConfig(Environment environment) {
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            throw new IllegalStateException("The 'virtual' profile needs Java 21 or later, running on "
+                    + System.getProperty("java.version"));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.blog_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the write-behind comment endpoint ({@code POST /api/comments/async}).
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.comments.write-behind")
+public class WriteBehindProperties {
+
+    private boolean enabled = false;
+
+    /* comments accepted but not yet written; further submissions get 503 until it drains */
+    private int queueCapacity = 10_000;
+
+    /* comments written per transaction; must not exceed blog.batch.max-items */
+    private int batchSize = 500;
+
+    /* how long the writer waits for the first comment of a batch */
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    /* how long shutdown waits for the queue to drain; what is left after that is lost */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    /* outcomes stay queryable by correlation id for this long */
+    private Duration statusTtl = Duration.ofMinutes(10);
+    private long statusMaxSize = 100_000;
+
+    /* Retry-After sent with 503 when the queue is full */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -1,12 +1,18 @@
 package com.example.blog_api.controller;
 
+import com.example.blog_api.dto.BatchResult;
 import com.example.blog_api.dto.CommentDto;
 import com.example.blog_api.dto.CreateCommentRequest;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.DeleteResultDto;
+import com.example.blog_api.dto.ResourceVersion;
 import com.example.blog_api.service.CommentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -24,14 +30,31 @@ public class CommentController {
         return ResponseEntity.created(URI.create("/api/comments/" + created.getId())).body(created);
     }
 
+    @PostMapping("/api/comments/batch")
+    public ResponseEntity<BatchResult<CommentDto>> createBatch(@RequestBody List<CreateCommentRequest> items) {
+        return ResponseEntity.ok(commentService.createComments(items));
+    }
+
     @GetMapping("/api/comments/{id}")
-    public ResponseEntity<CommentDto> get(@PathVariable Long id) {
+    public ResponseEntity<CommentDto> get(@PathVariable Long id, WebRequest request) {
+        ResourceVersion version = commentService.getCommentVersion(id);
+        if (request.checkNotModified(version.etag(), version.getLastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return ResponseEntity.ok(commentService.getCommentById(id));
     }
 
     @GetMapping("/api/posts/{postId}/comments")
-    public ResponseEntity<List<CommentDto>> listByPost(@PathVariable Long postId) {
-        return ResponseEntity.ok(commentService.getCommentsByPostId(postId));
+    public ResponseEntity<CursorPage<CommentDto>> listByPost(@PathVariable Long postId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(commentService.getCommentsByPostId(postId, cursor, limit));
+    }
+
+    /* all comments of a post; the post stays, with a comment count of zero */
+    @DeleteMapping("/api/posts/{postId}/comments")
+    public ResponseEntity<DeleteResultDto> deleteByPost(@PathVariable Long postId) {
+        return ResponseEntity.ok(new DeleteResultDto(commentService.deleteCommentsByPostId(postId)));
     }
 
     @DeleteMapping("/api/comments/{id}")
@@ -0,0 +1,38 @@
+package com.example.blog_api.controller;
+
+import com.example.blog_api.dto.CreateCommentRequest;
+import com.example.blog_api.dto.QueuedCommentDto;
+import com.example.blog_api.service.CommentWriteBehindService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Write-behind comment creation for bursts: the comment is validated and queued, and the
+ * response only carries a correlation id to look the outcome up with.
+ */
+@RestController
+@RequestMapping("/api/comments/async")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "blog.comments.write-behind", name = "enabled", havingValue = "true")
+public class CommentWriteBehindController {
+
+    private final CommentWriteBehindService writeBehindService;
+
+    @PostMapping
+    public ResponseEntity<QueuedCommentDto> create(@Valid @RequestBody CreateCommentRequest req) {
+        QueuedCommentDto queued = writeBehindService.enqueue(req);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/comments/async/" + queued.getCorrelationId()))
+                .body(queued);
+    }
+
+    @GetMapping("/{correlationId}")
+    public ResponseEntity<QueuedCommentDto> status(@PathVariable String correlationId) {
+        return ResponseEntity.ok(writeBehindService.getStatus(correlationId));
+    }
+}
@@ -1,15 +1,35 @@
 package com.example.blog_api.controller;
 
+import com.example.blog_api.dto.BatchResult;
 import com.example.blog_api.dto.CreatePostRequest;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.DeleteResultDto;
+import com.example.blog_api.dto.MultiGetResult;
 import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.dto.PostExportDto;
+import com.example.blog_api.dto.PostInclude;
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.dto.ResourceVersion;
 import com.example.blog_api.service.PostService;
+import com.example.blog_api.service.TrendingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -17,25 +37,75 @@ import java.util.List;
 public class PostController {
 
     private final PostService postService;
+    private final TrendingService trendingService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<List<PostDto>> list() {
-        List<PostDto> posts = postService.getAllPosts();
+    public ResponseEntity<CursorPage<PostSummaryDto>> list(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "20") int limit,
+                                                           @RequestParam(defaultValue = "0") int excerpt) {
+        CursorPage<PostSummaryDto> posts = postService.getPosts(cursor, limit, excerpt);
         return ResponseEntity.ok(posts);
     }
 
+    /* ?ids=1,2,3: posts with their author in request order; unknown ids are listed, not a 404 */
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResult<PostDto>> getMany(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(postService.getPostsByIds(ids));
+    }
+
+    /* every post as one JSON object per line, written while the rows are read */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        ObjectWriter writer = objectMapper.writerFor(PostExportDto.class);
+        StreamingResponseBody body = out -> postService.exportPosts(row -> {
+            try {
+                out.write(writer.writeValueAsBytes(row));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<PostDto> get(@PathVariable Long id) {
-        PostDto dto = postService.getPostById(id);
+    public ResponseEntity<PostDto> get(@PathVariable Long id,
+                                       @RequestParam(required = false) Set<String> include,
+                                       WebRequest request) {
+        Set<PostInclude> includes = include == null ? null : PostInclude.parse(include);
+        ResourceVersion version = postService.getPostVersion(id);
+        // the post exists; a revalidation answered with 304 is still a view
+        trendingService.recordView(id);
+        String etag = includes == null ? version.etag() : version.etag(variant(includes));
+        // answered from the version columns alone: the post is neither loaded nor mapped for a 304
+        if (request.checkNotModified(etag, version.getLastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        // without ?include the full view (author and comments) is returned, as before
+        PostDto dto = includes == null
+                ? postService.getPostById(id)
+                : postService.getPostById(id, includes);
         return ResponseEntity.ok(dto);
     }
 
+    private static String variant(Set<PostInclude> includes) {
+        if (includes.isEmpty()) return "none";
+        return includes.stream().map(i -> i.name().toLowerCase(Locale.ROOT)).sorted().collect(Collectors.joining("+"));
+    }
+
     @PostMapping
     public ResponseEntity<PostDto> create(@Valid @RequestBody CreatePostRequest req) {
         PostDto created = postService.createPost(req);
         return ResponseEntity.created(URI.create("/api/posts/" + created.getId())).body(created);
     }
 
+    /* partial success: valid items are created, rejected ones are reported per index */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult<PostDto>> createBatch(@RequestBody List<CreatePostRequest> items) {
+        return ResponseEntity.ok(postService.createPosts(items));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<PostDto> update(@PathVariable Long id, @Valid @RequestBody CreatePostRequest req) {
         PostDto updated = postService.updatePost(id, req);
@@ -47,4 +117,10 @@ public class PostController {
         postService.deletePost(id);
         return ResponseEntity.noContent().build();
     }
+
+    /* every post of one author, with their comments; the author stays */
+    @DeleteMapping(params = "authorId")
+    public ResponseEntity<DeleteResultDto> deleteByAuthor(@RequestParam Long authorId) {
+        return ResponseEntity.ok(new DeleteResultDto(postService.deletePostsByAuthorId(authorId)));
+    }
 }
@@ -0,0 +1,26 @@
+package com.example.blog_api.controller;
+
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.service.PostSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/posts/search")
+@RequiredArgsConstructor
+public class PostSearchController {
+
+    private final PostSearchService postSearchService;
+
+    @GetMapping
+    public ResponseEntity<CursorPage<PostSummaryDto>> search(@RequestParam String q,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(postSearchService.search(q, cursor, limit));
+    }
+}
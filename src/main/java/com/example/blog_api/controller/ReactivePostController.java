@@ -0,0 +1,38 @@
+package com.example.blog_api.controller;
+
+import com.example.blog_api.dto.CommentDto;
+import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.service.ReactivePostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variants of the hottest reads. The request thread is released as soon as the
+ * query is issued; the response is completed from the R2DBC driver's event loop.
+ */
+@RestController
+@RequestMapping("/api/reactive/posts")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "blog.reactive", name = "enabled", havingValue = "true")
+public class ReactivePostController {
+
+    private final ReactivePostService reactivePostService;
+
+    @GetMapping("/{id}")
+    public Mono<PostDto> get(@PathVariable Long id) {
+        return reactivePostService.getPostById(id);
+    }
+
+    /* one comment per line, written as rows arrive; the next rows are only requested once a line is written */
+    @GetMapping(value = "/{postId}/comments", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CommentDto> comments(@PathVariable Long postId) {
+        return reactivePostService.streamCommentsByPostId(postId);
+    }
+}
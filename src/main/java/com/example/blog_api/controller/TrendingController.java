@@ -0,0 +1,25 @@
+package com.example.blog_api.controller;
+
+import com.example.blog_api.dto.TrendingDto;
+import com.example.blog_api.service.TrendingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/posts/trending")
+@RequiredArgsConstructor
+public class TrendingController {
+
+    private final TrendingService trendingService;
+
+    @GetMapping
+    public ResponseEntity<TrendingDto> trending(@RequestParam(defaultValue = "1h") String window,
+                                                @RequestParam(defaultValue = "views") String by,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingService.getTrending(window, by, limit));
+    }
+}
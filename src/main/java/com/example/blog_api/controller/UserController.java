@@ -1,12 +1,20 @@
 package com.example.blog_api.controller;
 
+import com.example.blog_api.dto.BatchResult;
 import com.example.blog_api.dto.CreateUserRequest;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.MultiGetResult;
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.dto.ResourceVersion;
 import com.example.blog_api.dto.UserDto;
+import com.example.blog_api.service.PostService;
 import com.example.blog_api.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -17,23 +25,54 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final PostService postService;
 
     @GetMapping
     public ResponseEntity<List<UserDto>> list() {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    /* ?ids=1,2,3: users in request order; unknown ids are listed, not a 404 */
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResult<UserDto>> getMany(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
+    }
+
+    /* email -> id from a cache, then the cached user: no query when both are warm */
+    @GetMapping("/by-email")
+    public ResponseEntity<UserDto> getByEmail(@RequestParam String email) {
+        return ResponseEntity.ok(userService.getUserById(userService.getUserIdByEmail(email)));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<UserDto> get(@PathVariable Long id) {
+    public ResponseEntity<UserDto> get(@PathVariable Long id, WebRequest request) {
+        ResourceVersion version = userService.getUserVersion(id);
+        if (request.checkNotModified(version.etag(), version.getLastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return ResponseEntity.ok(userService.getUserById(id));
     }
 
+    /* an author's posts, newest first; same summaries and cursor contract as GET /api/posts */
+    @GetMapping("/{id}/posts")
+    public ResponseEntity<CursorPage<PostSummaryDto>> listPosts(@PathVariable Long id,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "20") int limit,
+                                                                @RequestParam(defaultValue = "0") int excerpt) {
+        return ResponseEntity.ok(postService.getPostsByAuthorId(id, cursor, limit, excerpt));
+    }
+
     @PostMapping
     public ResponseEntity<UserDto> create(@Valid @RequestBody CreateUserRequest req) {
         UserDto created = userService.createUser(req);
         return ResponseEntity.created(URI.create("/api/users/" + created.getId())).body(created);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult<UserDto>> createBatch(@RequestBody List<CreateUserRequest> items) {
+        return ResponseEntity.ok(userService.createUsers(items));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<UserDto> update(@PathVariable Long id, @Valid @RequestBody CreateUserRequest req) {
         return ResponseEntity.ok(userService.updateUser(id, req));
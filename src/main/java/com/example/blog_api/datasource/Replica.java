@@ -0,0 +1,42 @@
+package com.example.blog_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.time.Duration;
+
+/**
+ * One replica pool and its last measured lag behind the primary.
+ */
+public class Replica {
+
+    private final String name;
+    private final HikariDataSource pool;
+
+    /* null until the first heartbeat was read, and while the replica cannot be reached */
+    private volatile Duration lag;
+
+    public Replica(String name, HikariDataSource pool) {
+        this.name = name;
+        this.pool = pool;
+    }
+
+    public String getName() { return name; }
+
+    public HikariDataSource getPool() { return pool; }
+
+    public Duration getLag() { return lag; }
+
+    void setLag(Duration lag) { this.lag = lag; }
+
+    boolean isWithin(Duration maxLag) {
+        Duration current = lag;
+        return current != null && current.compareTo(maxLag) <= 0;
+    }
+
+    /* connections currently handed out; 0 before the pool has started */
+    int activeConnections() {
+        HikariPoolMXBean mx = pool.getHikariPoolMXBean();
+        return mx == null ? 0 : mx.getActiveConnections();
+    }
+}
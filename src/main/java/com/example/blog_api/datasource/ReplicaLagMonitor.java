@@ -0,0 +1,67 @@
+package com.example.blog_api.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Measures replica lag with a heartbeat: the current time is written to {@code replication_heartbeat}
+ * on the primary, and each replica's lag is how old the value it returns is. A replica that cannot
+ * be queried counts as unknown and is skipped until it answers again.
+ * <p>
+ * The measured lag includes up to one heartbeat interval on top of the real replication delay.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String WRITE = "UPDATE replication_heartbeat SET beat_at_ms = ? WHERE id = 1";
+    static final String READ = "SELECT beat_at_ms FROM replication_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Clock clock;
+
+    public ReplicaLagMonitor(DataSource primary, List<Replica> replicas, Duration maxLag, Clock clock) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+        this.clock = clock;
+    }
+
+    public void beat() {
+        try {
+            primary.update(WRITE, clock.millis());
+        } catch (RuntimeException e) {
+            // replicas are still measured against the last successful beat
+            log.warn("Writing the replication heartbeat failed: {}", e.getMessage());
+        }
+        for (Replica replica : replicas) {
+            measure(replica);
+        }
+    }
+
+    private void measure(Replica replica) {
+        boolean wasUsable = replica.isWithin(maxLag);
+        Duration lag;
+        try {
+            Long beatAt = new JdbcTemplate(replica.getPool()).queryForObject(READ, Long.class);
+            lag = beatAt == null ? null : Duration.ofMillis(Math.max(0, clock.millis() - beatAt));
+        } catch (RuntimeException e) {
+            log.debug("Reading the heartbeat from replica {} failed", replica.getName(), e);
+            lag = null;
+        }
+        replica.setLag(lag);
+        boolean usable = replica.isWithin(maxLag);
+        if (wasUsable && !usable) {
+            log.warn("Replica {} is {} behind (max {}), reads go elsewhere",
+                    replica.getName(), lag == null ? "unreachable or unknown" : lag, maxLag);
+        } else if (!wasUsable && usable) {
+            log.info("Replica {} is serving reads (lag {})", replica.getName(), lag);
+        }
+    }
+}
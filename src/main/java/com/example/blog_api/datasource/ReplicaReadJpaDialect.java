@@ -0,0 +1,50 @@
+package com.example.blog_api.datasource;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Lets read-only transactions read from Hibernate's second-level and query caches but not add to
+ * them. Those transactions may run on a replica that has not yet applied the latest commit, and
+ * what they read would otherwise be cached for every later transaction, primary ones included,
+ * after that commit's own invalidation has already run. Entries are filled by read-write
+ * transactions, which always run on the primary.
+ * <p>
+ * Set as the session's JPA store mode rather than its Hibernate cache mode, which finds derive
+ * from the JPA properties and would override. Query results need SecondLevelCacheConfig's region
+ * factory as well. The session's previous store mode is restored when the transaction ends.
+ */
+public class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+    private static final String STORE_MODE = AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE;
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly()) return transactionData;
+        Object previous = entityManager.getProperties().getOrDefault(STORE_MODE, CacheStoreMode.USE);
+        entityManager.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+        return new ReadOnlyTransactionData(transactionData, entityManager, previous);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReadOnlyTransactionData readOnly) {
+            readOnly.entityManager().setProperty(STORE_MODE, readOnly.previousStoreMode());
+            super.cleanupTransaction(readOnly.delegate());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+
+    private record ReadOnlyTransactionData(Object delegate, EntityManager entityManager, Object previousStoreMode) {
+    }
+}
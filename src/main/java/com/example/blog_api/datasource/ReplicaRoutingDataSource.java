@@ -0,0 +1,81 @@
+package com.example.blog_api.datasource;
+
+import com.example.blog_api.config.ReplicaProperties.Selection;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a replica that is no more than {@code maxLag}
+ * behind, and everything else (writes, reads outside a transaction) to the primary.
+ * <p>
+ * Must be used behind a {@link LazyConnectionDataSourceProxy}: transaction managers open the
+ * connection before the transaction's read-only flag is published, so the target has to be chosen
+ * when the first statement runs instead. See {@link #routed(DataSource)}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final Selection selection;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Selection selection, Duration maxLag) {
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.maxLag = maxLag;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(r -> targets.put(r.getName(), r.getPool()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public static DataSource routed(DataSource primary, List<Replica> replicas, Selection selection, Duration maxLag) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replicas, selection, maxLag));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Replica replica = selection == Selection.LEAST_LOADED ? leastLoaded() : roundRobin();
+        return replica == null ? PRIMARY : replica.getName();
+    }
+
+    private Replica roundRobin() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica candidate = replicas.get((start + i) % replicas.size());
+            if (candidate.isWithin(maxLag)) return candidate;
+        }
+        return null;
+    }
+
+    private Replica leastLoaded() {
+        Replica best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (Replica candidate : replicas) {
+            if (!candidate.isWithin(maxLag)) continue;
+            int active = candidate.activeConnections();
+            if (active < bestActive) {
+                best = candidate;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+}
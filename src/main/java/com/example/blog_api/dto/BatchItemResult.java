@@ -0,0 +1,19 @@
+package com.example.blog_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Either the created resource or the reasons it was rejected (then {@code data} is null).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult<T> {
+    private int index;
+    private T data;
+    private List<String> errors;
+}
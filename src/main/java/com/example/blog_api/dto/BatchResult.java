@@ -0,0 +1,19 @@
+package com.example.blog_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch create: one entry per submitted item, in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult<T> {
+    private int created;
+    private int failed;
+    private List<BatchItemResult<T>> items;
+}
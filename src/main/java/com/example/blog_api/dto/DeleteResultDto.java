@@ -0,0 +1,15 @@
+package com.example.blog_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk delete: how many rows of the requested kind were removed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeleteResultDto {
+    private long deleted;
+}
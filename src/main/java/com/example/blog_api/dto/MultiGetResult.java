@@ -0,0 +1,18 @@
+package com.example.blog_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a multi-get: the rows found, in request order, and the requested ids that have none.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiGetResult<T> {
+    private List<T> items;
+    private List<Long> missing;
+}
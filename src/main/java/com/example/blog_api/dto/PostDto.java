@@ -14,5 +14,6 @@ public class PostDto {
     private String content;
     private String authorName;
     private Instant createdAt;
+    private long commentCount;
     private List<CommentDto> comments;
 }
@@ -0,0 +1,24 @@
+package com.example.blog_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One line of the NDJSON post export. Flat on purpose: no comments, author by id and name.
+ * Built by a JPQL constructor expression, so exported rows never enter the persistence context.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostExportDto {
+    private Long id;
+    private String title;
+    private String content;
+    private Long authorId;
+    private String authorName;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
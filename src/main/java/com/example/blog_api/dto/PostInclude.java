@@ -0,0 +1,32 @@
+package com.example.blog_api.dto;
+
+import com.example.blog_api.exception.BadRequestException;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Optional associations a single-post read can fetch, chosen with {@code ?include=author,comments}.
+ * Each combination maps to one fetch plan in PostRepository, so the post is read in one round trip.
+ */
+public enum PostInclude {
+    AUTHOR,
+    COMMENTS;
+
+    public static final Set<PostInclude> ALL = EnumSet.allOf(PostInclude.class);
+
+    public static Set<PostInclude> parse(Collection<String> values) {
+        Set<PostInclude> result = EnumSet.noneOf(PostInclude.class);
+        for (String value : values) {
+            if (value == null || value.isBlank()) continue;
+            try {
+                result.add(PostInclude.valueOf(value.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown include '" + value.trim() + "', expected author or comments");
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.blog_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * List representation of a post: no full content and no comments.
+ * Built directly by a JPQL constructor expression, so no entity is loaded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSummaryDto {
+    private Long id;
+    private String title;
+    private String authorName;
+    private Instant createdAt;
+    private long commentCount;
+    /* first N characters of the content, only when an excerpt was requested */
+    private String excerpt;
+}
@@ -0,0 +1,28 @@
+package com.example.blog_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a comment submitted to the write-behind queue, looked up by its correlation id.
+ * {@code comment} is set once CREATED; {@code errors} once REJECTED or FAILED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueuedCommentDto {
+
+    public enum Status { QUEUED, CREATED, REJECTED, FAILED }
+
+    private String correlationId;
+    private Status status;
+    private CommentDto comment;
+    private List<String> errors;
+
+    public static QueuedCommentDto queued(String correlationId) {
+        return new QueuedCommentDto(correlationId, Status.QUEUED, null, null);
+    }
+}
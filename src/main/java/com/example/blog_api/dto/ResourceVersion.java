@@ -0,0 +1,27 @@
+package com.example.blog_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Validators for conditional GETs, read without loading or mapping the resource itself.
+ * {@code tag} changes whenever anything shown in the representation changes.
+ */
+@Data
+@AllArgsConstructor
+public class ResourceVersion {
+    private String tag;
+    private Instant lastModified;
+
+    /* strong ETag for the default representation */
+    public String etag() {
+        return "\"" + tag + "\"";
+    }
+
+    /* strong ETag for an alternative representation of the same resource, e.g. a partial view */
+    public String etag(String variant) {
+        return "\"" + tag + "-" + variant + "\"";
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.blog_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Top posts of one window and metric, as of the last ranking refresh.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingDto {
+    private String window;
+    private String by;
+    private Instant asOf;
+    private List<TrendingPostDto> items;
+}
@@ -0,0 +1,16 @@
+package com.example.blog_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A trending post: its summary and its estimated views or comments within the window.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingPostDto {
+    private long score;
+    private PostSummaryDto post;
+}
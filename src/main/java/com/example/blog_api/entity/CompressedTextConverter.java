@@ -0,0 +1,119 @@
+package com.example.blog_api.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Stores text in a binary column as a codec byte followed by the payload:
+ * <ul>
+ *     <li>{@code 0}: the UTF-8 bytes as they are</li>
+ *     <li>{@code 1}: the UTF-8 length as a 4-byte int, then the UTF-8 bytes in raw Deflate</li>
+ * </ul>
+ * Text shorter than {@link #MIN_COMPRESSED_BYTES}, or that Deflate does not make smaller, is stored
+ * plain, so short posts cost no CPU on either side. Reads accept both forms.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    static final byte PLAIN = 0;
+    static final byte DEFLATE = 1;
+
+    /* codec byte and uncompressed length */
+    private static final int DEFLATE_HEADER = 5;
+
+    /* below this the block header and Huffman tables eat most of what Deflate saves */
+    public static final int MIN_COMPRESSED_BYTES = 512;
+
+    /*
+     * ContentCompressionBenchmark: level 1 stores about 40-55% of the UTF-8 size; level 6 saves
+     * 2-4 points more at up to three times the CPU per write
+     */
+    public static final int LEVEL = 1;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        return encode(text, LEVEL);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        return decode(stored);
+    }
+
+    public static byte[] encode(String text) {
+        return encode(text, LEVEL);
+    }
+
+    public static byte[] encode(String text, int level) {
+        if (text == null) return null;
+        byte[] utf8 = text.getBytes(UTF_8);
+        if (utf8.length >= MIN_COMPRESSED_BYTES) {
+            byte[] deflated = deflate(utf8, level);
+            if (deflated != null) return deflated;
+        }
+        byte[] stored = new byte[utf8.length + 1];
+        stored[0] = PLAIN;
+        System.arraycopy(utf8, 0, stored, 1, utf8.length);
+        return stored;
+    }
+
+    public static String decode(byte[] stored) {
+        if (stored == null) return null;
+        if (stored.length == 0) throw new IllegalStateException("Stored text has no codec byte");
+        return switch (stored[0]) {
+            case PLAIN -> new String(stored, 1, stored.length - 1, UTF_8);
+            case DEFLATE -> inflate(stored);
+            default -> throw new IllegalStateException("Unknown text codec " + stored[0]);
+        };
+    }
+
+    /* null when the result would not be smaller than the plain form (length + 1) */
+    private static byte[] deflate(byte[] utf8, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+            byte[] out = new byte[utf8.length];
+            out[0] = DEFLATE;
+            ByteBuffer.wrap(out, 1, 4).putInt(utf8.length);
+            int n = DEFLATE_HEADER;
+            while (!deflater.finished()) {
+                if (n == out.length) return null;
+                n += deflater.deflate(out, n, out.length - n);
+            }
+            return Arrays.copyOf(out, n);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(byte[] stored) {
+        int length = ByteBuffer.wrap(stored, 1, 4).getInt();
+        byte[] utf8 = new byte[length];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(stored, DEFLATE_HEADER, stored.length - DEFLATE_HEADER);
+            int n = 0;
+            while (n < length) {
+                int read = inflater.inflate(utf8, n, length - n);
+                if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalStateException("Compressed text ends early");
+                }
+                n += read;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed text is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+        return new String(utf8, UTF_8);
+    }
+}
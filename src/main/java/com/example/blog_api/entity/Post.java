@@ -2,6 +2,8 @@ package com.example.blog_api.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -9,7 +11,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "posts", indexes = {
-        @Index(name = "idx_posts_author", columnList = "author_id")
+        @Index(name = "idx_posts_author_created_at_id", columnList = "author_id, created_at, id"),
+        @Index(name = "idx_posts_created_at_id", columnList = "created_at, id")
 })
 @Getter
 @Setter
@@ -17,19 +20,42 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Post.CACHE_REGION)
 public class Post {
 
+    public static final String CACHE_REGION = "posts";
+
+    /* characters of the content kept in plain text in content_preview */
+    public static final int PREVIEW_LENGTH = 1000;
+
+    /*
+     * Pooled table generator instead of IDENTITY: ids are reserved 100 at a time, so
+     * Hibernate knows them before the INSERT and can send inserts as JDBC batches.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "posts_id")
+    @TableGenerator(name = "posts_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "posts", allocationSize = 100)
     @EqualsAndHashCode.Include
     private Long id;
 
     @Column(nullable = false, length = 200)
     private String title;
 
-    @Column(columnDefinition = "TEXT")
+    /* Deflate-compressed at rest once it is long enough to gain from it */
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(columnDefinition = "LONGBLOB")
     private String content;
 
+    /*
+     * The start of the content in plain text, so summaries cut their excerpt in SQL without
+     * reading the compressed column. Derived from content before every insert and update.
+     */
+    @Column(name = "content_preview", length = PREVIEW_LENGTH)
+    @Setter(AccessLevel.NONE)
+    private String contentPreview;
+
     /**
      * Many posts can belong to one author.
      * Use LAZY to avoid loading the whole User every time we fetch posts.
@@ -38,9 +64,24 @@ public class Post {
     @JoinColumn(name = "author_id")
     private User author;
 
+    /*
+     * Maintained only through CommentCounter (atomic UPDATE ... + delta),
+     * never written from the entity, so concurrent comment writers cannot lose increments.
+     */
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    private long commentCount;
+
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /* bumped on every update; together with updatedAt it backs ETag / Last-Modified */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * OneToMany for comments: Post is the parent/owning side in object graph.
      * CascadeType.ALL so that persisting/removing Post also affects its comments.
@@ -53,6 +94,20 @@ public class Post {
     @PrePersist
     public void prePersist() {
         if (createdAt == null) createdAt = Instant.now();
+        if (updatedAt == null) updatedAt = createdAt;
+        contentPreview = preview(content);
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = Instant.now();
+        contentPreview = preview(content);
+    }
+
+    /** The first {@link #PREVIEW_LENGTH} characters (code points, like MySQL counts them) of {@code content}. */
+    public static String preview(String content) {
+        if (content == null || content.codePointCount(0, content.length()) <= PREVIEW_LENGTH) return content;
+        return content.substring(0, content.offsetByCodePoints(0, PREVIEW_LENGTH));
     }
 
     // Utility helper to set bi-directional relationship
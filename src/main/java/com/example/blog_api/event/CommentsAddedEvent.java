@@ -0,0 +1,7 @@
+package com.example.blog_api.event;
+
+/**
+ * Published by the comment service when comments are added to a post; {@code count} per post and transaction.
+ */
+public record CommentsAddedEvent(Long postId, long count) {
+}
@@ -0,0 +1,7 @@
+package com.example.blog_api.event;
+
+/**
+ * Published by the post service when a post is deleted.
+ */
+public record PostDeletedEvent(Long id) {
+}
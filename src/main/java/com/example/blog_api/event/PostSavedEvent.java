@@ -0,0 +1,7 @@
+package com.example.blog_api.event;
+
+/**
+ * Published by the post service when a post is created or updated; carries the indexed fields.
+ */
+public record PostSavedEvent(Long id, String title, String content) {
+}
@@ -0,0 +1,5 @@
+package com.example.blog_api.exception;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) { super(message); }
+}
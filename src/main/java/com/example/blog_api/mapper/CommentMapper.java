@@ -0,0 +1,19 @@
+package com.example.blog_api.mapper;
+
+import com.example.blog_api.dto.CommentDto;
+import com.example.blog_api.entity.Comment;
+
+/* entity to DTO mapping for comments; on every comment response and inside every full post view */
+public final class CommentMapper {
+
+    private CommentMapper() {
+    }
+
+    public static CommentDto toDto(Comment c) {
+        CommentDto dto = new CommentDto();
+        dto.setId(c.getId());
+        dto.setText(c.getText());
+        dto.setCreatedAt(c.getCreatedAt());
+        return dto;
+    }
+}
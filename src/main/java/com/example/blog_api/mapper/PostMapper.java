@@ -0,0 +1,39 @@
+package com.example.blog_api.mapper;
+
+import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.dto.PostInclude;
+import com.example.blog_api.entity.Post;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/* entity to DTO mapping for posts; benchmarked in src/jmh (PostDtoBenchmark, ListBenchmark) */
+public final class PostMapper {
+
+    private PostMapper() {
+    }
+
+    public static PostDto toDto(Post p) {
+        return toDto(p, PostInclude.ALL);
+    }
+
+    /*
+     * simple manual mapping to DTO to avoid exposing entity directly;
+     * associations that were not included are left null so no lazy load is triggered
+     */
+    public static PostDto toDto(Post p, Set<PostInclude> include) {
+        PostDto dto = new PostDto();
+        dto.setId(p.getId());
+        dto.setTitle(p.getTitle());
+        dto.setContent(p.getContent());
+        dto.setCreatedAt(p.getCreatedAt());
+        // always present, even when the comments themselves are not included
+        dto.setCommentCount(p.getCommentCount());
+        if (include.contains(PostInclude.AUTHOR) && p.getAuthor() != null) dto.setAuthorName(p.getAuthor().getName());
+        // map comments to CommentDto if any
+        if (include.contains(PostInclude.COMMENTS) && p.getComments() != null) {
+            dto.setComments(p.getComments().stream().map(CommentMapper::toDto).collect(Collectors.toList()));
+        }
+        return dto;
+    }
+}
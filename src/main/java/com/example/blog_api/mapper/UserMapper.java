@@ -0,0 +1,20 @@
+package com.example.blog_api.mapper;
+
+import com.example.blog_api.dto.UserDto;
+import com.example.blog_api.entity.User;
+
+/* entity to DTO mapping for users */
+public final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    public static UserDto toDto(User u) {
+        UserDto dto = new UserDto();
+        dto.setId(u.getId());
+        dto.setName(u.getName());
+        dto.setEmail(u.getEmail());
+        dto.setCreatedAt(u.getCreatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.blog_api.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Sets {@value SqlStatementMetricsFilter#HEADER} just before a response body is written, which
+ * is the last point where headers can still change. Registered only when the header is enabled;
+ * advice is found by its annotation, so the condition has to sit on the class.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "blog.metrics", name = "sql-count-header", havingValue = "true", matchIfMissing = true)
+public class SqlCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        int count = SqlStatementCounter.current();
+        if (count >= 0) response.getHeaders().set(SqlStatementMetricsFilter.HEADER, String.valueOf(count));
+        return body;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.blog_api.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #begin()}
+ * and {@link #end()}, i.e. within one request. Statements run on other threads (async work,
+ * streamed exports) are not attributed to the request.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private final StatementInspector delegate;
+
+    public SqlStatementCounter(StatementInspector delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) count[0]++;
+        return delegate == null ? sql : delegate.inspect(sql);
+    }
+
+    public static void begin() {
+        COUNT.set(new int[1]);
+    }
+
+    /* statements so far in this request, or -1 outside of one */
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? -1 : count[0];
+    }
+
+    public static void end() {
+        COUNT.remove();
+    }
+}
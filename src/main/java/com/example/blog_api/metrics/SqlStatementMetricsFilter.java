@@ -0,0 +1,53 @@
+package com.example.blog_api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the number of SQL statements each request ran ({@code blog.sql.statements}, tagged
+ * with the route), and optionally returns it in the {@value #HEADER} response header.
+ */
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Count";
+
+    private final MeterRegistry registry;
+    private final boolean exposeHeader;
+
+    public SqlStatementMetricsFilter(MeterRegistry registry, boolean exposeHeader) {
+        this.registry = registry;
+        this.exposeHeader = exposeHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int count = SqlStatementCounter.current();
+            SqlStatementCounter.end();
+            // responses with a body got the header from SqlCountHeaderAdvice before being committed
+            if (exposeHeader && !response.isCommitted()) response.setHeader(HEADER, String.valueOf(count));
+            if (!request.isAsyncStarted()) {
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("blog.sql.statements")
+                        .description("SQL statements executed per HTTP request")
+                        .baseUnit("statements")
+                        .tag("method", request.getMethod())
+                        .tag("uri", route == null ? "UNKNOWN" : route.toString())
+                        .register(registry)
+                        .record(count);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.blog_api.migration;
+
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Backfill of changelog-010: encodes every post's TEXT content into content_compressed and fills
+ * content_preview. Walks the table by id and commits each page of {@value #PAGE_SIZE} updates on
+ * its own (the changeset runs outside Liquibase's transaction), so neither memory nor the open
+ * transaction grows with the table. Only rows whose content_compressed is still NULL are read:
+ * after a failure, the rerun continues where the last committed page ended.
+ * <p>
+ * The encoding and the preview are copies of what CompressedTextConverter and Post did when this
+ * changeset was written, so later changes to either cannot alter what the migration writes. The
+ * converter keeps reading both codecs.
+ */
+public class CompressPostContentChange implements CustomTaskChange {
+
+    private static final int PAGE_SIZE = 500;
+
+    /* the stored format, as of changelog-010 */
+    private static final byte PLAIN = 0;
+    private static final byte DEFLATE = 1;
+    private static final int DEFLATE_HEADER = 5;
+    private static final int MIN_COMPRESSED_BYTES = 512;
+    private static final int LEVEL = 1;
+    private static final int PREVIEW_LENGTH = 1000;
+
+    private long rows;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, content FROM posts WHERE content_compressed IS NULL AND id > ? ORDER BY id LIMIT " + PAGE_SIZE);
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE posts SET content_compressed = ?, content_preview = ? WHERE id = ?")) {
+            long after = Long.MIN_VALUE;
+            int read;
+            do {
+                read = 0;
+                select.setLong(1, after);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        after = rs.getLong(1);
+                        String content = rs.getString(2);
+                        update.setBytes(1, encode(content));
+                        update.setString(2, preview(content));
+                        update.setLong(3, after);
+                        update.addBatch();
+                        read++;
+                    }
+                }
+                if (read > 0) update.executeBatch();
+                if (!connection.getAutoCommit()) connection.commit();
+                rows += read;
+            } while (read == PAGE_SIZE);
+        } catch (SQLException e) {
+            throw new CustomChangeException("Compressing post content failed after " + rows + " rows", e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Compressed the content of " + rows + " posts";
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+
+    /* codec byte, then the UTF-8 bytes as they are or their length and raw Deflate */
+    static byte[] encode(String text) {
+        if (text == null) return null;
+        byte[] utf8 = text.getBytes(UTF_8);
+        if (utf8.length >= MIN_COMPRESSED_BYTES) {
+            byte[] deflated = deflate(utf8);
+            if (deflated != null) return deflated;
+        }
+        byte[] stored = new byte[utf8.length + 1];
+        stored[0] = PLAIN;
+        System.arraycopy(utf8, 0, stored, 1, utf8.length);
+        return stored;
+    }
+
+    /* null when the result would not be smaller than the plain form */
+    private static byte[] deflate(byte[] utf8) {
+        Deflater deflater = new Deflater(LEVEL, true);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+            byte[] out = new byte[utf8.length];
+            out[0] = DEFLATE;
+            ByteBuffer.wrap(out, 1, 4).putInt(utf8.length);
+            int n = DEFLATE_HEADER;
+            while (!deflater.finished()) {
+                if (n == out.length) return null;
+                n += deflater.deflate(out, n, out.length - n);
+            }
+            return Arrays.copyOf(out, n);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /* the first PREVIEW_LENGTH code points, as MySQL counts characters */
+    static String preview(String content) {
+        if (content == null || content.codePointCount(0, content.length()) <= PREVIEW_LENGTH) return content;
+        return content.substring(0, content.offsetByCodePoints(0, PREVIEW_LENGTH));
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.blog_api.repository;
+
+/* a comment's id and the post it belongs to, enough to delete it and fix the post's counter */
+public record CommentRef(Long id, Long postId) {
+}
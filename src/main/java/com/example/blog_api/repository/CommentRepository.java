@@ -1,9 +1,48 @@
 package com.example.blog_api.repository;
 
 import com.example.blog_api.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    @Query("select new com.example.blog_api.repository.VersionView(c.version, c.createdAt, c.updatedAt) from Comment c where c.id = :id")
+    Optional<VersionView> findVersionById(@Param("id") Long id);
+
+    /* keyset pagination of a post's comments, oldest first; served by idx_comments_post_created_at */
+    @Query("select c from Comment c where c.post.id = :postId order by c.createdAt asc, c.id asc")
+    List<Comment> findFirstPageByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("select c from Comment c where c.post.id = :postId " +
+            "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id)) " +
+            "order by c.createdAt asc, c.id asc")
+    List<Comment> findPageByPostIdAfter(@Param("postId") Long postId, @Param("createdAt") Instant createdAt,
+                                        @Param("id") Long id, Pageable pageable);
+
+    /*
+     * The next chunk of comments to delete, in no particular order, so the first rows the index
+     * yields will do. Earlier chunks' rows may linger in idx_comments_post_created_at as
+     * delete-marked entries until InnoDB purges them; the scan steps over those, so a chunk costs a
+     * little more while purge lags behind a large delete.
+     */
+    @Query("select new com.example.blog_api.repository.CommentRef(c.id, c.post.id) from Comment c where c.post.id in :postIds")
+    List<CommentRef> findRefsByPostIdIn(@Param("postIds") Collection<Long> postIds, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Comment c where c.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from Comment c where c.post.id in :postIds")
+    int deleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
 }
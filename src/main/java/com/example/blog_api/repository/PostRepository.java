@@ -1,9 +1,163 @@
 package com.example.blog_api.repository;
 
+import com.example.blog_api.dto.PostExportDto;
+import com.example.blog_api.dto.PostSummaryDto;
 import com.example.blog_api.entity.Post;
+import com.example.blog_api.search.PostIndexRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
+
+    /* query space of the counter update; deliberately not a table any entity is mapped to */
+    String COMMENT_COUNT_SPACE = "post_comment_counts";
+
+    /* fetch plans for single-post reads, see PostInclude; each is a single select with joins */
+    @EntityGraph(attributePaths = "author")
+    Optional<Post> findWithAuthorById(Long id);
+
+    /* multi-get: one IN query, authors joined in the same select */
+    @EntityGraph(attributePaths = "author")
+    List<Post> findWithAuthorByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "comments")
+    Optional<Post> findWithCommentsById(Long id);
+
+    @EntityGraph(attributePaths = {"author", "comments"})
+    Optional<Post> findWithAuthorAndCommentsById(Long id);
+
+    String SUMMARY_SELECT = "select new com.example.blog_api.dto.PostSummaryDto(" +
+            "p.id, p.title, a.name, p.createdAt, " +
+            "p.commentCount, " +
+            "case when :excerptLength > 0 then substring(p.contentPreview, 1, :excerptLength) else null end) " +
+            "from Post p left join p.author a ";
+
+    /*
+     * Keyset pagination over summaries, newest first; both queries are served by idx_posts_created_at_id.
+     * One statement per page: the author name comes from the join and the comment count from the
+     * denormalized column, and the excerpt is cut from content_preview, so neither the comments
+     * collection nor the compressed content is read.
+     * Pages go through the query cache: the first pages are by far the most requested and any
+     * write to posts, users or comments invalidates them.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "order by p.createdAt desc, p.id desc")
+    List<PostSummaryDto> findSummaryFirstPage(@Param("excerptLength") int excerptLength, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT +
+            "where p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id) " +
+            "order by p.createdAt desc, p.id desc")
+    List<PostSummaryDto> findSummaryPageBefore(@Param("createdAt") Instant createdAt, @Param("id") Long id,
+                                               @Param("excerptLength") int excerptLength, Pageable pageable);
+
+    /*
+     * The same pages restricted to one author, served by idx_posts_author_created_at_id: the
+     * index seeks to the author and the cursor, and reads no further than the page it returns.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "where p.author.id = :authorId order by p.createdAt desc, p.id desc")
+    List<PostSummaryDto> findSummaryFirstPageByAuthorId(@Param("authorId") Long authorId,
+                                                        @Param("excerptLength") int excerptLength, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT +
+            "where p.author.id = :authorId " +
+            "and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id)) " +
+            "order by p.createdAt desc, p.id desc")
+    List<PostSummaryDto> findSummaryPageByAuthorIdBefore(@Param("authorId") Long authorId,
+                                                         @Param("createdAt") Instant createdAt, @Param("id") Long id,
+                                                         @Param("excerptLength") int excerptLength, Pageable pageable);
+
+    /* list rows for a set of ids, e.g. search hits; the caller restores the order it needs */
+    @Query(SUMMARY_SELECT + "where p.id in :ids")
+    List<PostSummaryDto> findSummariesByIds(@Param("ids") Collection<Long> ids,
+                                            @Param("excerptLength") int excerptLength);
+
+    /* bounds and id-range batches for rebuilding the search index */
+    @Query("select min(p.id) from Post p")
+    Optional<Long> findMinId();
+
+    @Query("select max(p.id) from Post p")
+    Optional<Long> findMaxId();
+
+    @Query("select new com.example.blog_api.search.PostIndexRow(p.id, p.title, p.content) from Post p " +
+            "where p.id > :afterId and p.id <= :upToId order by p.id")
+    List<PostIndexRow> findIndexRows(@Param("afterId") Long afterId, @Param("upToId") Long upToId, Pageable pageable);
+
+    int EXPORT_FETCH_SIZE = 1000;
+
+    /*
+     * Full scan in primary-key order for the NDJSON export. Rows are pulled from the driver
+     * EXPORT_FETCH_SIZE at a time (a server-side cursor with useCursorFetch on Connector/J)
+     * and, being DTOs, are not tracked by the persistence context. Close the stream.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.blog_api.dto.PostExportDto(p.id, p.title, p.content, a.id, a.name, p.createdAt, p.updatedAt) " +
+            "from Post p left join p.author a order by p.id")
+    Stream<PostExportDto> streamAllForExport();
+
+    /* validators for conditional GETs; a primary-key lookup, served from the query cache until posts or users change */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.example.blog_api.repository.PostVersionView(p.version, p.createdAt, p.updatedAt, " +
+            "a.version, a.updatedAt) " +
+            "from Post p left join p.author a where p.id = :id")
+    Optional<PostVersionView> findVersionById(@Param("id") Long id);
+
+    /*
+     * Adds delta to comment_count in a single UPDATE, so concurrent comment writers serialize on the
+     * row lock instead of overwriting each other. Also marks the post as changed, since its comments
+     * are part of its representation. Returns 0 when the post does not exist.
+     * Native and synchronized on a space no entity maps to, so Hibernate leaves the posts cache
+     * region alone; call it through CommentCounter, which evicts just this post.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COMMENT_COUNT_SPACE))
+    @Query(value = "update posts set comment_count = comment_count + :delta, version = version + 1, " +
+            "updated_at = :now where id = :id", nativeQuery = true)
+    int adjustCommentCount(@Param("id") Long id, @Param("delta") long delta, @Param("now") Instant now);
+
+    @Query("select p.id from Post p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.id from Post p where p.author.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
+
+    /* one chunk of an author's posts for bulk deletion; deleted ones drop out, so no cursor is needed */
+    @Query("select p.id from Post p where p.author.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    /*
+     * Bulk delete without loading the posts or cascading through Post.comments; comments left
+     * behind go with the ON DELETE CASCADE of fk_comments_post. Hibernate evicts the cached posts.
+     */
+    @Modifying
+    @Query("delete from Post p where p.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /*
+     * Same effect as the ON DELETE SET NULL on fk_posts_author, but done through Hibernate
+     * so the cached posts are invalidated instead of pointing at a deleted user.
+     */
+    @Modifying
+    @Query("update Post p set p.author = null where p.author.id = :authorId")
+    int detachAuthor(@Param("authorId") Long authorId);
 }
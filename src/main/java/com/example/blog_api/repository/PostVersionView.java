@@ -0,0 +1,8 @@
+package com.example.blog_api.repository;
+
+import java.time.Instant;
+
+/* a post's version plus its author's, since the author name is part of the post representation */
+public record PostVersionView(Long version, Instant createdAt, Instant updatedAt,
+                              Long authorVersion, Instant authorUpdatedAt) {
+}
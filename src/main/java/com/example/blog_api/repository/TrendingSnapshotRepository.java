@@ -0,0 +1,43 @@
+package com.example.blog_api.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Last persisted trending rankings, so they survive a restart. Written as a whole every
+ * snapshot interval instead of once per view.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TrendingSnapshotRepository {
+
+    private static final String INSERT = "INSERT INTO trending_snapshots "
+            + "(window_name, metric, position, post_id, score, taken_at_ms) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void replaceAll(List<TrendingSnapshotRow> rows) {
+        jdbcTemplate.update("DELETE FROM trending_snapshots");
+        jdbcTemplate.batchUpdate(INSERT, rows, 500, (ps, row) -> {
+            ps.setString(1, row.window());
+            ps.setString(2, row.metric());
+            ps.setInt(3, row.position());
+            ps.setLong(4, row.postId());
+            ps.setLong(5, row.score());
+            ps.setLong(6, row.takenAt().toEpochMilli());
+        });
+    }
+
+    public List<TrendingSnapshotRow> findAll() {
+        return jdbcTemplate.query(
+                "SELECT window_name, metric, position, post_id, score, taken_at_ms FROM trending_snapshots",
+                (rs, i) -> new TrendingSnapshotRow(rs.getString(1), rs.getString(2), rs.getInt(3),
+                        rs.getLong(4), rs.getLong(5), Instant.ofEpochMilli(rs.getLong(6))));
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.blog_api.repository;
+
+import java.time.Instant;
+
+public record TrendingSnapshotRow(String window, String metric, int position, long postId, long score, Instant takenAt) {
+}
@@ -0,0 +1,10 @@
+package com.example.blog_api.repository;
+
+import java.time.Instant;
+
+/*
+ * projection of the columns that identify a row's current state, used for ETag / Last-Modified;
+ * a constructor projection, so no proxy is built per conditional GET
+ */
+public record VersionView(Long version, Instant createdAt, Instant updatedAt) {
+}
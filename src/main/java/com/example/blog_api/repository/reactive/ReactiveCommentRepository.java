@@ -0,0 +1,41 @@
+package com.example.blog_api.repository.reactive;
+
+import com.example.blog_api.dto.CommentDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking reads of comments over R2DBC.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "blog.reactive", name = "enabled", havingValue = "true")
+public class ReactiveCommentRepository {
+
+    /* rows requested from the server at a time while a comment list is streamed */
+    static final int STREAM_FETCH_SIZE = 256;
+
+    private final DatabaseClient db;
+
+    /*
+     * A post's comments, oldest first (idx_comments_post_created_at). Rows are pulled as the
+     * subscriber requests them, so a slow client slows the read instead of buffering the whole list.
+     */
+    public Flux<CommentDto> findByPostId(Long postId) {
+        return db.sql("select c.id, c.text, c.created_at from comments c " +
+                        "where c.post_id = :postId order by c.created_at asc, c.id asc")
+                .bind("postId", postId)
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(row -> {
+                    CommentDto dto = new CommentDto();
+                    dto.setId(row.get("id", Long.class));
+                    dto.setText(row.get("text", String.class));
+                    dto.setCreatedAt(Rows.instant(row, "created_at"));
+                    return dto;
+                })
+                .all();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.blog_api.repository.reactive;
+
+import com.example.blog_api.dto.PostDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of posts over R2DBC. Rows are mapped straight to DTOs; there is no
+ * persistence context, second-level cache or lazy loading on this path.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "blog.reactive", name = "enabled", havingValue = "true")
+public class ReactivePostRepository {
+
+    private final DatabaseClient db;
+
+    /* post with its author's name and comment count; comments are read separately */
+    public Mono<PostDto> findById(Long id) {
+        return db.sql("select p.id, p.title, p.content, p.created_at, p.comment_count, u.name as author_name " +
+                        "from posts p left join users u on u.id = p.author_id where p.id = :id")
+                .bind("id", id)
+                .map(row -> {
+                    PostDto dto = new PostDto();
+                    dto.setId(row.get("id", Long.class));
+                    dto.setTitle(row.get("title", String.class));
+                    dto.setContent(Rows.compressedText(row, "content"));
+                    dto.setAuthorName(row.get("author_name", String.class));
+                    dto.setCreatedAt(Rows.instant(row, "created_at"));
+                    Long count = row.get("comment_count", Long.class);
+                    dto.setCommentCount(count == null ? 0 : count);
+                    return dto;
+                })
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return db.sql("select 1 from posts where id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .hasElement();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.blog_api.repository.reactive;
+
+import com.example.blog_api.entity.CompressedTextConverter;
+import io.r2dbc.spi.Readable;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/* column reads shared by the R2DBC repositories */
+final class Rows {
+
+    private Rows() {
+    }
+
+    /* timestamps are stored and read in UTC, as on the JPA side (hibernate.jdbc.time_zone) */
+    static Instant instant(Readable row, String column) {
+        LocalDateTime value = row.get(column, LocalDateTime.class);
+        return value == null ? null : value.toInstant(ZoneOffset.UTC);
+    }
+
+    /* a column written through CompressedTextConverter; ByteBuffer is what both drivers read a BLOB as */
+    static String compressedText(Readable row, String column) {
+        ByteBuffer value = row.get(column, ByteBuffer.class);
+        if (value == null) return null;
+        byte[] stored = new byte[value.remaining()];
+        value.get(stored);
+        return CompressedTextConverter.decode(stored);
+    }
+}
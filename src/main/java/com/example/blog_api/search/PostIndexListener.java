@@ -0,0 +1,36 @@
+package com.example.blog_api.search;
+
+import com.example.blog_api.event.PostDeletedEvent;
+import com.example.blog_api.event.PostSavedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps {@link PostSearchIndex} in line with the database: a full rebuild once the application
+ * is up, then one update per post change, applied only after its transaction has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostIndexListener {
+
+    private final PostSearchIndex index;
+
+    /* runs in the background; searches return partial results until it completes */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        index.rebuild();
+    }
+
+    @TransactionalEventListener
+    public void onSaved(PostSavedEvent event) {
+        index.upsert(event.id(), event.title(), event.content());
+    }
+
+    @TransactionalEventListener
+    public void onDeleted(PostDeletedEvent event) {
+        index.delete(event.id());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.blog_api.search;
+
+/**
+ * The fields of a post that go into the search index, read by a JPQL constructor expression.
+ */
+public record PostIndexRow(Long id, String title, String content) {
+}
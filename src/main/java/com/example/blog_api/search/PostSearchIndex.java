@@ -0,0 +1,267 @@
+package com.example.blog_api.search;
+
+import com.example.blog_api.config.SearchProperties;
+import com.example.blog_api.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lucene index over post title and content, kept in this process.
+ * <p>
+ * Writes go through a single {@link IndexWriter}; searches use near-real-time readers from a
+ * {@link SearcherManager} that a background thread reopens at most {@code maxStaleness} after a change.
+ * Only the post id is stored: hits are turned into summaries by the caller.
+ */
+@Slf4j
+@Component
+public class PostSearchIndex {
+
+    static final String ID = "id";
+    static final String ID_SORT = "id_sort";
+    static final String TITLE = "title";
+    static final String CONTENT = "content";
+
+    /* score desc, then id asc so pages stay stable across index refreshes */
+    private static final Sort RANKING = new Sort(SortField.FIELD_SCORE, new SortField(ID_SORT, SortField.Type.LONG));
+
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(TITLE, 2f, CONTENT, 1f);
+
+    private final PostRepository postRepository;
+    private final SearchProperties props;
+    /* Boot's application executor: virtual threads when spring.threads.virtual.enabled is set */
+    private final AsyncTaskExecutor executor;
+    private final Path tempDir;
+    private final Directory directory;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+    /*
+     * Stripes serialize the rebuild and live updates for the same post id. ReentrantLock rather
+     * than synchronized, so a virtual thread waiting here does not pin its carrier.
+     */
+    private final Lock[] locks = new Lock[64];
+
+    /* ids changed by live updates while a rebuild runs; the rebuild must not overwrite them */
+    private volatile Set<Long> changedDuringRebuild;
+    private volatile boolean ready;
+
+    public PostSearchIndex(PostRepository postRepository, SearchProperties props,
+                           @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor) throws IOException {
+        this.postRepository = postRepository;
+        this.props = props;
+        this.executor = executor;
+        for (int i = 0; i < locks.length; i++) locks[i] = new ReentrantLock();
+        if (props.getIndexPath() == null || props.getIndexPath().isBlank()) {
+            tempDir = Files.createTempDirectory("post-index");
+            directory = FSDirectory.open(tempDir);
+        } else {
+            tempDir = null;
+            directory = FSDirectory.open(Path.of(props.getIndexPath()));
+        }
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                // rebuilt from the database on every start
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                .setRAMBufferSizeMB(64);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+        double maxStaleSec = props.getMaxStaleness().toMillis() / 1000.0;
+        reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, maxStaleSec, Math.min(0.1, maxStaleSec));
+        reopenThread.setName("post-index-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+    }
+
+    /** Searches title and content; {@code after} is the last hit of the previous page or null. */
+    public List<SearchCursor> search(String text, SearchCursor after, int limit) {
+        Query query = parse(text);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // (score, id) is unique, so the doc id of the cursor never decides; it only has to be in range
+                FieldDoc from = after == null ? null
+                        : new FieldDoc(searcher.getIndexReader().maxDoc() - 1, after.score(), new Object[]{after.score(), after.id()});
+                TopFieldDocs top = searcher.searchAfter(from, query, limit, RANKING, true);
+                List<SearchCursor> hits = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc sd : top.scoreDocs) {
+                    FieldDoc fd = (FieldDoc) sd;
+                    hits.add(new SearchCursor((Float) fd.fields[0], (Long) fd.fields[1]));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void upsert(Long id, String title, String content) {
+        Lock lock = lock(id);
+        lock.lock();
+        try {
+            Set<Long> changed = changedDuringRebuild;
+            if (changed != null) changed.add(id);
+            write(id, title, content);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void delete(Long id) {
+        Lock lock = lock(id);
+        lock.lock();
+        try {
+            Set<Long> changed = changedDuringRebuild;
+            if (changed != null) changed.add(id);
+            writer.deleteDocuments(new Term(ID, id.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Re-reads every post, splitting the id space into ranges indexed by {@code rebuildThreads}
+     * workers. Live updates keep flowing meanwhile and win over the rows the rebuild read.
+     */
+    public CompletableFuture<Void> rebuild() {
+        long start = System.nanoTime();
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        ready = false;
+        long min = postRepository.findMinId().orElse(0L);
+        long max = postRepository.findMaxId().orElse(0L);
+        int threads = Math.max(1, props.getRebuildThreads());
+        // more ranges than threads so one dense range does not leave the others idle
+        int ranges = threads * 4;
+        long span = Math.max(1, (max - min + ranges) / ranges);
+        Queue<long[]> pending = new ConcurrentLinkedQueue<>();
+        for (long from = min - 1; from < max; from += span) {
+            pending.add(new long[]{from, Math.min(max, from + span)});
+        }
+        // a fixed number of workers drains the ranges, whatever kind of threads the executor hands out
+        List<CompletableFuture<Void>> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(CompletableFuture.runAsync(() -> {
+                for (long[] range; (range = pending.poll()) != null; ) indexRange(range[0], range[1]);
+            }, executor));
+        }
+        return CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new))
+                .whenComplete((v, e) -> {
+                    changedDuringRebuild = null;
+                    if (e != null) {
+                        log.error("Rebuilding the post search index failed", e);
+                        return;
+                    }
+                    ready = true;
+                    try {
+                        searcherManager.maybeRefreshBlocking();
+                    } catch (IOException io) {
+                        throw new UncheckedIOException(io);
+                    }
+                    log.info("Post search index rebuilt: {} documents in {} ms",
+                            writer.getDocStats().numDocs, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                });
+    }
+
+    private void indexRange(long afterId, long upToId) {
+        PageRequest batch = PageRequest.of(0, props.getRebuildBatchSize());
+        long cursor = afterId;
+        List<PostIndexRow> rows;
+        do {
+            rows = postRepository.findIndexRows(cursor, upToId, batch);
+            for (PostIndexRow row : rows) {
+                Lock lock = lock(row.id());
+                lock.lock();
+                try {
+                    if (!changedDuringRebuild.contains(row.id())) write(row.id(), row.title(), row.content());
+                } finally {
+                    lock.unlock();
+                }
+            }
+            if (!rows.isEmpty()) cursor = rows.get(rows.size() - 1).id();
+        } while (rows.size() == batch.getPageSize());
+    }
+
+    private void write(Long id, String title, String content) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, id.toString(), Field.Store.NO));
+        doc.add(new NumericDocValuesField(ID_SORT, id));
+        doc.add(new TextField(TITLE, title == null ? "" : title, Field.Store.NO));
+        doc.add(new TextField(CONTENT, content == null ? "" : content, Field.Store.NO));
+        try {
+            writer.updateDocument(new Term(ID, id.toString()), doc);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /* user input: the simple parser never throws and treats unknown syntax as plain terms */
+    private Query parse(String text) {
+        Query query = new SimpleQueryParser(analyzer, FIELD_BOOSTS).parse(text);
+        return query == null ? new MatchNoDocsQuery() : query;
+    }
+
+    private Lock lock(Long id) {
+        return locks[Math.floorMod(id.hashCode(), locks.length)];
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        if (tempDir != null) FileSystemUtils.deleteRecursively(tempDir);
+    }
+}
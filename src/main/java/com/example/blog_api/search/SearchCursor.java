@@ -0,0 +1,33 @@
+package com.example.blog_api.search;
+
+import com.example.blog_api.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a ranked result list ordered by (score desc, id asc).
+ * Lucene doc ids change when segments merge, so the post id is used as the tie-breaker instead.
+ */
+public record SearchCursor(float score, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = Float.toString(score) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /* returns null for a missing cursor, i.e. the first page */
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(SEPARATOR);
+            if (sep < 0) throw new BadRequestException("Invalid cursor");
+            return new SearchCursor(Float.parseFloat(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
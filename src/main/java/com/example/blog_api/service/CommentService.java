@@ -1,13 +1,19 @@
 package com.example.blog_api.service;
 
+import com.example.blog_api.dto.BatchResult;
 import com.example.blog_api.dto.CommentDto;
 import com.example.blog_api.dto.CreateCommentRequest;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.ResourceVersion;
 
 import java.util.List;
 
 public interface CommentService {
     CommentDto createComment(CreateCommentRequest req);
+    BatchResult<CommentDto> createComments(List<CreateCommentRequest> items);
     CommentDto getCommentById(Long id);
-    List<CommentDto> getCommentsByPostId(Long postId);
+    ResourceVersion getCommentVersion(Long id);
+    CursorPage<CommentDto> getCommentsByPostId(Long postId, String cursor, int limit);
     void deleteComment(Long id);
+    long deleteCommentsByPostId(Long postId);
 }
@@ -0,0 +1,9 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.CreateCommentRequest;
+import com.example.blog_api.dto.QueuedCommentDto;
+
+public interface CommentWriteBehindService {
+    QueuedCommentDto enqueue(CreateCommentRequest req);
+    QueuedCommentDto getStatus(String correlationId);
+}
@@ -0,0 +1,8 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.PostSummaryDto;
+
+public interface PostSearchService {
+    CursorPage<PostSummaryDto> search(String query, String cursor, int limit);
+}
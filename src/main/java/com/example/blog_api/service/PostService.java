@@ -1,14 +1,30 @@
 package com.example.blog_api.service;
 
+import com.example.blog_api.dto.BatchResult;
 import com.example.blog_api.dto.CreatePostRequest;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.MultiGetResult;
 import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.dto.PostExportDto;
+import com.example.blog_api.dto.PostInclude;
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.dto.ResourceVersion;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface PostService {
     PostDto createPost(CreatePostRequest req);
+    BatchResult<PostDto> createPosts(List<CreatePostRequest> items);
     PostDto getPostById(Long id);
-    List<PostDto> getAllPosts();
+    PostDto getPostById(Long id, Set<PostInclude> include);
+    MultiGetResult<PostDto> getPostsByIds(List<Long> ids);
+    ResourceVersion getPostVersion(Long id);
+    CursorPage<PostSummaryDto> getPosts(String cursor, int limit, int excerptLength);
+    CursorPage<PostSummaryDto> getPostsByAuthorId(Long authorId, String cursor, int limit, int excerptLength);
+    long exportPosts(Consumer<PostExportDto> sink);
     PostDto updatePost(Long id, CreatePostRequest req);
     void deletePost(Long id);
+    long deletePostsByAuthorId(Long authorId);
 }
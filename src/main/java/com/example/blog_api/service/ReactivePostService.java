@@ -0,0 +1,13 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.CommentDto;
+import com.example.blog_api.dto.PostDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/* read-only counterpart of PostService over R2DBC; writes stay on the JPA services */
+public interface ReactivePostService {
+    Mono<PostDto> getPostById(Long id);
+
+    Flux<CommentDto> streamCommentsByPostId(Long postId);
+}
@@ -0,0 +1,8 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.TrendingDto;
+
+public interface TrendingService {
+    void recordView(Long postId);
+    TrendingDto getTrending(String window, String by, int limit);
+}
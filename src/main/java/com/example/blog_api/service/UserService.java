@@ -1,13 +1,20 @@
 package com.example.blog_api.service;
 
+import com.example.blog_api.dto.BatchResult;
 import com.example.blog_api.dto.CreateUserRequest;
+import com.example.blog_api.dto.MultiGetResult;
+import com.example.blog_api.dto.ResourceVersion;
 import com.example.blog_api.dto.UserDto;
 
 import java.util.List;
 
 public interface UserService {
     UserDto createUser(CreateUserRequest req);
+    BatchResult<UserDto> createUsers(List<CreateUserRequest> items);
     UserDto getUserById(Long id);
+    MultiGetResult<UserDto> getUsersByIds(List<Long> ids);
+    ResourceVersion getUserVersion(Long id);
+    Long getUserIdByEmail(String email);
     List<UserDto> getAllUsers();
     UserDto updateUser(Long id, CreateUserRequest req);
     void deleteUser(Long id);
@@ -0,0 +1,90 @@
+package com.example.blog_api.service.impl;
+
+import com.example.blog_api.dto.BatchItemResult;
+import com.example.blog_api.dto.BatchResult;
+import com.example.blog_api.exception.BadRequestException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Per-item bookkeeping for a batch create. Items are bean-validated up front; services
+ * then reject further items (missing references, duplicates) and accept the ones they saved.
+ */
+final class Batch<I, O> {
+
+    private final List<I> items;
+    private final List<List<String>> errors;
+    private final List<O> data;
+
+    private Batch(List<I> items) {
+        this.items = items;
+        this.errors = new ArrayList<>(items.size());
+        this.data = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            errors.add(new ArrayList<>());
+            data.add(null);
+        }
+    }
+
+    static <I, O> Batch<I, O> of(List<I> items, int maxItems, Validator validator) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Batch must contain at least one item");
+        }
+        if (items.size() > maxItems) {
+            throw new BadRequestException("Batch must contain at most " + maxItems + " items");
+        }
+        Batch<I, O> batch = new Batch<>(items);
+        for (int i = 0; i < items.size(); i++) {
+            I item = items.get(i);
+            if (item == null) {
+                batch.reject(i, "Item must not be null");
+                continue;
+            }
+            for (ConstraintViolation<I> v : validator.validate(item)) {
+                batch.reject(i, v.getPropertyPath() + ": " + v.getMessage());
+            }
+        }
+        return batch;
+    }
+
+    /** Items that have not been rejected so far. */
+    Stream<I> valid() {
+        return IntStream.range(0, items.size()).filter(this::isValid).mapToObj(items::get);
+    }
+
+    void forEachValid(BiConsumer<Integer, I> action) {
+        for (int i = 0; i < items.size(); i++) {
+            if (isValid(i)) action.accept(i, items.get(i));
+        }
+    }
+
+    void reject(int index, String error) {
+        errors.get(index).add(error);
+    }
+
+    void accept(int index, O result) {
+        data.set(index, result);
+    }
+
+    BatchResult<O> result() {
+        List<BatchItemResult<O>> results = new ArrayList<>(items.size());
+        int created = 0;
+        for (int i = 0; i < items.size(); i++) {
+            List<String> itemErrors = errors.get(i);
+            if (itemErrors.isEmpty()) created++;
+            itemErrors.sort(null);
+            results.add(new BatchItemResult<>(i, data.get(i), itemErrors.isEmpty() ? null : itemErrors));
+        }
+        return new BatchResult<>(created, items.size() - created, results);
+    }
+
+    private boolean isValid(int index) {
+        return errors.get(index).isEmpty();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.blog_api.service.impl;
+
+import com.example.blog_api.event.PostDeletedEvent;
+import com.example.blog_api.repository.CommentRef;
+import com.example.blog_api.repository.CommentRepository;
+import com.example.blog_api.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes posts and comments with bulk statements, one bounded chunk per transaction, so no
+ * entity is loaded and no delete holds its row locks for longer than one chunk takes.
+ * Every call commits on its own; the services loop over the chunks.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkDeleter {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final CommentCounter commentCounter;
+    private final DtoCacheInvalidator cacheInvalidator;
+    private final ApplicationEventPublisher events;
+
+    /* deletes up to limit comments of the given posts and lowers their counters to match */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int deleteComments(Collection<Long> postIds, int limit) {
+        List<CommentRef> refs = deleteCommentRefs(postIds, limit);
+        if (refs.isEmpty()) return 0;
+        Map<Long, Long> perPost = refs.stream()
+                .collect(Collectors.groupingBy(CommentRef::postId, Collectors.counting()));
+        Instant now = Instant.now();
+        perPost.forEach((postId, n) -> commentCounter.adjust(postId, -n, now));
+        cacheInvalidator.evictPosts(perPost.keySet());
+        return refs.size();
+    }
+
+    /*
+     * The same for posts about to be deleted themselves: their counters and cached copies go with
+     * them, so neither is touched chunk by chunk.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int deleteCommentsBeforePosts(Collection<Long> postIds, int limit) {
+        return deleteCommentRefs(postIds, limit).size();
+    }
+
+    /*
+     * Deletes the posts that still exist and returns their ids. Expects their comments to be gone
+     * already: the few that arrived since the last chunk are swept here.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Long> deletePosts(Collection<Long> ids) {
+        List<Long> existing = postRepository.findExistingIds(ids);
+        if (existing.isEmpty()) return existing;
+        commentRepository.deleteByPostIdIn(existing);
+        postRepository.deleteByIdIn(existing);
+        cacheInvalidator.evictPosts(existing);
+        // the search index drops them once this transaction commits
+        existing.forEach(id -> events.publishEvent(new PostDeletedEvent(id)));
+        return existing;
+    }
+
+    private List<CommentRef> deleteCommentRefs(Collection<Long> postIds, int limit) {
+        List<CommentRef> refs = commentRepository.findRefsByPostIdIn(postIds, PageRequest.of(0, limit));
+        if (!refs.isEmpty()) commentRepository.deleteByIdIn(refs.stream().map(CommentRef::id).toList());
+        return refs;
+    }
+}
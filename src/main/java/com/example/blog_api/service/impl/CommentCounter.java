@@ -0,0 +1,52 @@
+package com.example.blog_api.service.impl;
+
+import com.example.blog_api.entity.Post;
+import com.example.blog_api.repository.PostRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Keeps posts.comment_count in step with the comments. The UPDATE is native and synchronized on
+ * a query space no entity maps to, so Hibernate does not clear the whole posts region for it;
+ * instead only the counted post is evicted, once now and once more when the transaction
+ * completes. Cached queries over posts are still invalidated, as the summaries show the count.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommentCounter {
+
+    private final PostRepository postRepository;
+    private final EntityManager entityManager;
+
+    /* adds delta to the post's counter; returns 0 when the post does not exist */
+    public int adjust(Long postId, long delta, Instant now) {
+        int updated = postRepository.adjustCommentCount(postId, delta, now);
+        if (updated > 0) invalidate(postId);
+        return updated;
+    }
+
+    /* what Hibernate's bulk cleanup would do, narrowed from the posts region to one entry */
+    private void invalidate(Long postId) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        String[] spaces = Arrays.stream(session.getFactory().getMappingMetamodel()
+                        .getEntityDescriptor(Post.class).getQuerySpaces())
+                .map(String::valueOf)
+                .toArray(String[]::new);
+        TimestampsCache timestamps = session.getFactory().getCache().getTimestampsCache();
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        timestamps.preInvalidate(spaces, session);
+        cache.evict(Post.class, postId);
+        // a concurrent reader may have cached the old row again by the time this commits
+        session.getActionQueue().registerProcess((success, s) -> {
+            cache.evict(Post.class, postId);
+            timestamps.invalidate(spaces, s);
+        });
+    }
+}
@@ -1,38 +1,97 @@
 package com.example.blog_api.service.impl;
 
+import com.example.blog_api.config.BatchProperties;
+import com.example.blog_api.dto.BatchResult;
 import com.example.blog_api.dto.CommentDto;
 import com.example.blog_api.dto.CreateCommentRequest;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.ResourceVersion;
 import com.example.blog_api.entity.Comment;
-import com.example.blog_api.entity.Post;
+import com.example.blog_api.event.CommentsAddedEvent;
 import com.example.blog_api.exception.ResourceNotFoundException;
+import com.example.blog_api.mapper.CommentMapper;
 import com.example.blog_api.repository.CommentRepository;
 import com.example.blog_api.repository.PostRepository;
 import com.example.blog_api.service.CommentService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Timed("blog.service")
 @Transactional
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
+    private final CommentCounter commentCounter;
+    private final DtoCacheInvalidator cacheInvalidator;
+    private final ApplicationEventPublisher events;
+    private final Validator validator;
+    private final BatchProperties batchProperties;
+    private final BulkDeleter bulkDeleter;
 
     @Override
     public CommentDto createComment(CreateCommentRequest req) {
-        Post post = postRepository.findById(req.getPostId())
-                .orElseThrow(() -> new ResourceNotFoundException("Post", req.getPostId()));
+        Long postId = req.getPostId();
+        // the counter update doubles as the existence check, so the post itself is never loaded
+        if (commentCounter.adjust(postId, 1, Instant.now()) == 0) {
+            throw new ResourceNotFoundException("Post", postId);
+        }
         Comment c = Comment.builder()
-                .post(post)
+                .post(postRepository.getReferenceById(postId))
                 .text(req.getText())
                 .build();
         Comment saved = commentRepository.save(c);
-        return toDto(saved);
+        cacheInvalidator.evictPost(postId);
+        // trending counts it once the transaction commits
+        events.publishEvent(new CommentsAddedEvent(postId, 1));
+        return CommentMapper.toDto(saved);
+    }
+
+    @Override
+    public BatchResult<CommentDto> createComments(List<CreateCommentRequest> items) {
+        Batch<CreateCommentRequest, CommentDto> batch = Batch.of(items, batchProperties.getMaxItems(), validator);
+        Set<Long> existing = new HashSet<>(postRepository.findExistingIds(
+                batch.valid().map(CreateCommentRequest::getPostId).distinct().toList()));
+        Map<Integer, Comment> pending = new LinkedHashMap<>();
+        batch.forEachValid((i, req) -> {
+            if (!existing.contains(req.getPostId())) {
+                batch.reject(i, "postId: Post with id " + req.getPostId() + " not found");
+                return;
+            }
+            pending.put(i, Comment.builder()
+                    // existence was checked above; a reference is enough to set the foreign key
+                    .post(postRepository.getReferenceById(req.getPostId()))
+                    .text(req.getText())
+                    .build());
+        });
+        commentRepository.saveAll(pending.values());
+        Map<Long, Long> added = new HashMap<>();
+        pending.forEach((i, c) -> {
+            added.merge(c.getPost().getId(), 1L, Long::sum);
+            batch.accept(i, CommentMapper.toDto(c));
+        });
+        Instant now = Instant.now();
+        added.forEach((postId, n) -> {
+            commentCounter.adjust(postId, n, now);
+            events.publishEvent(new CommentsAddedEvent(postId, n));
+        });
+        cacheInvalidator.evictPosts(added.keySet());
+        return batch.result();
     }
 
     @Override
@@ -40,30 +99,56 @@ public class CommentServiceImpl implements CommentService {
     public CommentDto getCommentById(Long id) {
         Comment c = commentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", id));
-        return toDto(c);
+        return CommentMapper.toDto(c);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CommentDto> getCommentsByPostId(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post", postId));
-        return post.getComments().stream().map(this::toDto).collect(Collectors.toList());
+    public ResourceVersion getCommentVersion(Long id) {
+        return commentRepository.findVersionById(id)
+                .map(v -> ResourceVersions.of("comment", id, v))
+                .orElseThrow(() -> new ResourceNotFoundException("Comment", id));
     }
 
     @Override
-    public void deleteComment(Long id) {
-        if (!commentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Comment", id);
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDto> getCommentsByPostId(Long postId, String cursor, int limit) {
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post", postId);
         }
-        commentRepository.deleteById(id);
+        int size = KeysetPages.clamp(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Comment> rows = after == null
+                ? commentRepository.findFirstPageByPostId(postId, KeysetPages.probe(size))
+                : commentRepository.findPageByPostIdAfter(postId, after.createdAt(), after.id(), KeysetPages.probe(size));
+        return KeysetPages.of(rows, size, c -> new KeysetCursor(c.getCreatedAt(), c.getId()), CommentMapper::toDto);
     }
 
-    private CommentDto toDto(Comment c) {
-        CommentDto dto = new CommentDto();
-        dto.setId(c.getId());
-        dto.setText(c.getText());
-        dto.setCreatedAt(c.getCreatedAt());
-        return dto;
+    @Override
+    public void deleteComment(Long id) {
+        Comment c = commentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment", id));
+        // the post is a lazy proxy here; reading its id does not load it
+        Long postId = c.getPost().getId();
+        commentRepository.delete(c);
+        commentCounter.adjust(postId, -1, Instant.now());
+        cacheInvalidator.evictPost(postId);
+    }
+
+    /* a chunk per transaction, like deleting the post itself, but the post stays */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long deleteCommentsByPostId(Long postId) {
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post", postId);
+        }
+        int chunk = batchProperties.getDeleteChunkSize();
+        long deleted = 0;
+        int n;
+        do {
+            n = bulkDeleter.deleteComments(List.of(postId), chunk);
+            deleted += n;
+        } while (n == chunk);
+        return deleted;
     }
 }
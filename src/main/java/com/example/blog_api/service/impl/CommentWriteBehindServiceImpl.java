@@ -0,0 +1,195 @@
+package com.example.blog_api.service.impl;
+
+import com.example.blog_api.config.BatchProperties;
+import com.example.blog_api.config.WriteBehindProperties;
+import com.example.blog_api.dto.BatchItemResult;
+import com.example.blog_api.dto.BatchResult;
+import com.example.blog_api.dto.CommentDto;
+import com.example.blog_api.dto.CreateCommentRequest;
+import com.example.blog_api.dto.QueuedCommentDto;
+import com.example.blog_api.exception.ResourceNotFoundException;
+import com.example.blog_api.exception.ServiceUnavailableException;
+import com.example.blog_api.service.CommentService;
+import com.example.blog_api.service.CommentWriteBehindService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Accepts comments into a bounded in-memory queue and writes them from a single background thread.
+ * Whatever queued up while the previous batch was written goes into the next one, through the same
+ * path as {@code POST /api/comments/batch}: one existence query, one JDBC batch of inserts and one
+ * counter update per post. A full queue is answered with 503 instead of growing.
+ * <p>
+ * Queued comments live only in memory: on shutdown the queue is drained before the database
+ * goes away, for up to {@code shutdown-timeout}; a crash loses whatever was not yet written.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "blog.comments.write-behind", name = "enabled", havingValue = "true")
+public class CommentWriteBehindServiceImpl implements CommentWriteBehindService, SmartLifecycle {
+
+    private final CommentService commentService;
+    private final WriteBehindProperties props;
+    private final BlockingQueue<Pending> queue;
+    private final Cache<String, QueuedCommentDto> statuses;
+    private final Counter rejected;
+
+    /* enqueue holds the read lock, stop takes the write lock: nothing is offered after the final drain starts */
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread writer;
+
+    public CommentWriteBehindServiceImpl(CommentService commentService, WriteBehindProperties props,
+                                         BatchProperties batchProperties, MeterRegistry registry) {
+        if (props.getBatchSize() < 1 || props.getBatchSize() > batchProperties.getMaxItems()) {
+            // createComments would reject every batch larger than that
+            throw new IllegalStateException("blog.comments.write-behind.batch-size must be between 1 and blog.batch.max-items ("
+                    + batchProperties.getMaxItems() + "), was " + props.getBatchSize());
+        }
+        this.commentService = commentService;
+        this.props = props;
+        this.queue = new ArrayBlockingQueue<>(props.getQueueCapacity());
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(props.getStatusMaxSize())
+                .expireAfterWrite(props.getStatusTtl())
+                .build();
+        Gauge.builder("blog.comments.write.behind.queued", queue, BlockingQueue::size)
+                .description("Comments accepted but not yet written")
+                .register(registry);
+        this.rejected = Counter.builder("blog.comments.write.behind.rejected")
+                .description("Submissions refused because the queue was full")
+                .register(registry);
+    }
+
+    @Override
+    public QueuedCommentDto enqueue(CreateCommentRequest req) {
+        Pending pending = new Pending(UUID.randomUUID().toString(), req);
+        acceptLock.readLock().lock();
+        try {
+            if (!accepting) {
+                throw new ServiceUnavailableException("Comment queue is shutting down", props.getRetryAfter());
+            }
+            // the status goes in first so a lookup right after the 202 never misses it
+            QueuedCommentDto status = QueuedCommentDto.queued(pending.correlationId());
+            statuses.put(pending.correlationId(), status);
+            if (!queue.offer(pending)) {
+                statuses.invalidate(pending.correlationId());
+                rejected.increment();
+                throw new ServiceUnavailableException("Comment queue is full, retry later", props.getRetryAfter());
+            }
+            return status;
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public QueuedCommentDto getStatus(String correlationId) {
+        QueuedCommentDto status = statuses.getIfPresent(correlationId);
+        if (status == null) {
+            throw new ResourceNotFoundException("Queued comment " + correlationId + " not found");
+        }
+        return status;
+    }
+
+    @Override
+    public void start() {
+        accepting = true;
+        running = true;
+        writer = new Thread(this::drain, "comment-write-behind");
+        // must not keep the JVM alive once stop() has given up on it
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        acceptLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        running = false;
+        if (writer == null) return;
+        try {
+            writer.join(props.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.warn("Comment writer did not finish within {}, {} queued comments were not written",
+                    props.getShutdownTimeout(), queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null && writer.isAlive();
+    }
+
+    /* stops after the web server (higher phases stop first), so no request is still enqueuing */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(props.getBatchSize());
+        // after stop() the loop only ends once the queue is empty, or stop() gave up waiting and interrupted it
+        while ((running || !queue.isEmpty()) && !Thread.currentThread().isInterrupted()) {
+            Pending first;
+            try {
+                first = queue.poll(props.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) continue;
+            batch.add(first);
+            queue.drainTo(batch, props.getBatchSize() - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        BatchResult<CommentDto> result;
+        try {
+            result = commentService.createComments(batch.stream().map(Pending::request).toList());
+        } catch (RuntimeException e) {
+            log.error("Writing {} queued comments failed", batch.size(), e);
+            List<String> errors = List.of("Comment could not be saved, submit it again");
+            batch.forEach(p -> statuses.put(p.correlationId(),
+                    new QueuedCommentDto(p.correlationId(), QueuedCommentDto.Status.FAILED, null, errors)));
+            return;
+        }
+        for (BatchItemResult<CommentDto> item : result.getItems()) {
+            String id = batch.get(item.getIndex()).correlationId();
+            statuses.put(id, item.getErrors() == null
+                    ? new QueuedCommentDto(id, QueuedCommentDto.Status.CREATED, item.getData(), null)
+                    : new QueuedCommentDto(id, QueuedCommentDto.Status.REJECTED, null, item.getErrors()));
+        }
+    }
+
+    private record Pending(String correlationId, CreateCommentRequest request) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.blog_api.service.impl;
+
+import com.example.blog_api.config.CacheNames;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Write-side invalidation of the DTO caches. Called from inside the writing transaction;
+ * the transaction-aware cache manager defers the eviction until commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class DtoCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    public void evictPost(Long postId) {
+        cache(CacheNames.POSTS).evict(postId);
+    }
+
+    public void evictPosts(Collection<Long> postIds) {
+        Cache posts = cache(CacheNames.POSTS);
+        postIds.forEach(posts::evict);
+    }
+
+    public void evictUser(Long userId) {
+        cache(CacheNames.USERS).evict(userId);
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) throw new IllegalStateException("Cache " + name + " is not configured");
+        return cache;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.blog_api.service.impl;
+
+import com.example.blog_api.dto.CursorPage;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers shared by the keyset-paginated listings.
+ * Queries fetch one row more than requested so we know whether a next page exists
+ * without running a count query.
+ */
+final class KeysetPages {
+
+    static final int MAX_LIMIT = 100;
+
+    private KeysetPages() {
+    }
+
+    static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /* page request for "limit + 1" rows, always from offset 0 */
+    static Pageable probe(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    static <T, R> CursorPage<R> of(List<T> rows, int limit,
+                                   Function<T, KeysetCursor> cursorOf, Function<T, R> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<T> page = hasNext ? rows.subList(0, limit) : rows;
+        String next = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(mapper).collect(Collectors.toList()), next);
+    }
+}
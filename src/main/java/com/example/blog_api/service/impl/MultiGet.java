@@ -0,0 +1,53 @@
+package com.example.blog_api.service.impl;
+
+import com.example.blog_api.dto.MultiGetResult;
+import com.example.blog_api.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Helpers shared by the multi-get reads.
+ * Ids are deduplicated before the single IN query; the rows come back in request order and the
+ * ids without a row are listed rather than failing the whole call.
+ */
+final class MultiGet {
+
+    static final int MAX_IDS = 100;
+
+    private MultiGet() {
+    }
+
+    /* distinct ids in request order */
+    static List<Long> ids(List<Long> ids) {
+        List<Long> distinct = ids == null ? List.of() : ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.isEmpty()) {
+            throw new BadRequestException("ids must not be empty");
+        }
+        if (distinct.size() > MAX_IDS) {
+            throw new BadRequestException("At most " + MAX_IDS + " ids per request");
+        }
+        return distinct;
+    }
+
+    static <T, R> MultiGetResult<R> of(List<Long> ids, List<T> rows,
+                                       Function<T, Long> idOf, Function<T, R> mapper) {
+        Map<Long, T> byId = new HashMap<>(rows.size() * 2);
+        rows.forEach(r -> byId.put(idOf.apply(r), r));
+        List<R> items = new ArrayList<>(byId.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            T row = byId.get(id);
+            if (row == null) {
+                missing.add(id);
+            } else {
+                items.add(mapper.apply(row));
+            }
+        }
+        return new MultiGetResult<>(items, missing);
+    }
+}
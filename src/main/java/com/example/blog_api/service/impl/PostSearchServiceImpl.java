@@ -0,0 +1,53 @@
+package com.example.blog_api.service.impl;
+
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.exception.BadRequestException;
+import com.example.blog_api.repository.PostRepository;
+import com.example.blog_api.search.PostSearchIndex;
+import com.example.blog_api.search.SearchCursor;
+import com.example.blog_api.service.PostSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class PostSearchServiceImpl implements PostSearchService {
+
+    private final PostSearchIndex index;
+    private final PostRepository postRepository;
+
+    /*
+     * Ranking and paging happen in the index; the database is only asked for the summaries of
+     * the hits on this page, by primary key. Hits whose post was deleted in the meantime are dropped.
+     */
+    @Override
+    public CursorPage<PostSummaryDto> search(String query, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Query must not be blank");
+        }
+        int size = KeysetPages.clamp(limit);
+        List<SearchCursor> hits = index.search(query, SearchCursor.decode(cursor), size + 1);
+        boolean hasNext = hits.size() > size;
+        List<SearchCursor> page = hasNext ? hits.subList(0, size) : hits;
+        if (page.isEmpty()) return new CursorPage<>(List.of(), null);
+
+        Map<Long, PostSummaryDto> byId = postRepository
+                .findSummariesByIds(page.stream().map(SearchCursor::id).toList(), 0).stream()
+                .collect(Collectors.toMap(PostSummaryDto::getId, Function.identity()));
+        List<PostSummaryDto> items = new ArrayList<>(page.size());
+        for (SearchCursor hit : page) {
+            PostSummaryDto summary = byId.get(hit.id());
+            if (summary != null) items.add(summary);
+        }
+        return new CursorPage<>(items, hasNext ? page.get(page.size() - 1).encode() : null);
+    }
+}
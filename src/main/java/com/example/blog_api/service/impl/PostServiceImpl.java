@@ -1,28 +1,62 @@
 package com.example.blog_api.service.impl;
 
-import com.example.blog_api.dto.CommentDto;
+import com.example.blog_api.coalescing.Coalesced;
+import com.example.blog_api.config.BatchProperties;
+import com.example.blog_api.config.CacheNames;
+import com.example.blog_api.dto.BatchResult;
 import com.example.blog_api.dto.CreatePostRequest;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.MultiGetResult;
 import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.dto.PostExportDto;
+import com.example.blog_api.dto.PostInclude;
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.dto.ResourceVersion;
 import com.example.blog_api.entity.Post;
+import com.example.blog_api.event.PostSavedEvent;
 import com.example.blog_api.entity.User;
 import com.example.blog_api.exception.ResourceNotFoundException;
+import com.example.blog_api.mapper.PostMapper;
 import com.example.blog_api.repository.PostRepository;
 import com.example.blog_api.repository.UserRepository;
 import com.example.blog_api.service.PostService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("blog.service")
 @Transactional
 @RequiredArgsConstructor
 public class PostServiceImpl implements PostService {
 
+    /* excerpts are cut from content_preview, which holds no more */
+    static final int MAX_EXCERPT_LENGTH = Post.PREVIEW_LENGTH;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final DtoCacheInvalidator cacheInvalidator;
+    private final Validator validator;
+    private final BatchProperties batchProperties;
+    private final ApplicationEventPublisher events;
+    private final BulkDeleter bulkDeleter;
 
     @Override
     public PostDto createPost(CreatePostRequest req) {
@@ -34,59 +68,187 @@ public class PostServiceImpl implements PostService {
                 .author(author)
                 .build();
         Post saved = postRepository.save(p);
-        return toDto(saved);
+        publishSaved(saved);
+        return PostMapper.toDto(saved);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    public BatchResult<PostDto> createPosts(List<CreatePostRequest> items) {
+        Batch<CreatePostRequest, PostDto> batch = Batch.of(items, batchProperties.getMaxItems(), validator);
+        Map<Long, User> authors = userRepository.findAllById(batch.valid().map(CreatePostRequest::getAuthorId).distinct().toList())
+                .stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Integer, Post> pending = new LinkedHashMap<>();
+        batch.forEachValid((i, req) -> {
+            User author = authors.get(req.getAuthorId());
+            if (author == null) {
+                batch.reject(i, "authorId: User with id " + req.getAuthorId() + " not found");
+                return;
+            }
+            pending.put(i, Post.builder()
+                    .title(req.getTitle())
+                    .content(req.getContent())
+                    .author(author)
+                    .build());
+        });
+        postRepository.saveAll(pending.values());
+        pending.values().forEach(this::publishSaved);
+        pending.forEach((i, p) -> batch.accept(i, PostMapper.toDto(p)));
+        return batch.result();
+    }
+
+    /*
+     * Read-write so it runs on the primary: a replica may still be up to max-lag behind the write
+     * that just evicted this entry, and whatever is read here stays cached for the DTO cache TTL.
+     * sync: the load runs inside the cache's per-key compute, so the commit-time eviction of a
+     * concurrent update waits for a load that read the old row and removes its result, instead of
+     * the load putting it back afterwards.
+     */
+    @Override
+    @Coalesced
+    @Transactional
+    @Cacheable(cacheNames = CacheNames.POSTS, key = "#id", sync = true)
     public PostDto getPostById(Long id) {
-        Post p = postRepository.findById(id)
+        return getPostById(id, PostInclude.ALL);
+    }
+
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public PostDto getPostById(Long id, Set<PostInclude> include) {
+        Post p = findWith(id, include)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", id));
-        return toDto(p);
+        return PostMapper.toDto(p, include);
     }
 
+    /* the author is included, comments are not: the post-with-author view of GET /api/posts/{id} */
     @Override
     @Transactional(readOnly = true)
-    public List<PostDto> getAllPosts() {
-        return postRepository.findAll().stream().map(this::toDto).collect(Collectors.toList());
+    public MultiGetResult<PostDto> getPostsByIds(List<Long> ids) {
+        List<Long> distinct = MultiGet.ids(ids);
+        Set<PostInclude> include = EnumSet.of(PostInclude.AUTHOR);
+        return MultiGet.of(distinct, postRepository.findWithAuthorByIdIn(distinct), Post::getId,
+                p -> PostMapper.toDto(p, include));
+    }
+
+    /* on the primary, like the cached read: a stale version would validate a stale copy */
+    @Override
+    @Coalesced
+    @Transactional
+    public ResourceVersion getPostVersion(Long id) {
+        return postRepository.findVersionById(id)
+                .map(v -> ResourceVersions.ofPost(id, v))
+                .orElseThrow(() -> new ResourceNotFoundException("Post", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PostSummaryDto> getPosts(String cursor, int limit, int excerptLength) {
+        int size = KeysetPages.clamp(limit);
+        int excerpt = Math.max(0, Math.min(excerptLength, MAX_EXCERPT_LENGTH));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<PostSummaryDto> rows = after == null
+                ? postRepository.findSummaryFirstPage(excerpt, KeysetPages.probe(size))
+                : postRepository.findSummaryPageBefore(after.createdAt(), after.id(), excerpt, KeysetPages.probe(size));
+        return KeysetPages.of(rows, size, s -> new KeysetCursor(s.getCreatedAt(), s.getId()), s -> s);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PostSummaryDto> getPostsByAuthorId(Long authorId, String cursor, int limit, int excerptLength) {
+        if (!userRepository.existsById(authorId)) {
+            throw new ResourceNotFoundException("User", authorId);
+        }
+        int size = KeysetPages.clamp(limit);
+        int excerpt = Math.max(0, Math.min(excerptLength, MAX_EXCERPT_LENGTH));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<PostSummaryDto> rows = after == null
+                ? postRepository.findSummaryFirstPageByAuthorId(authorId, excerpt, KeysetPages.probe(size))
+                : postRepository.findSummaryPageByAuthorIdBefore(authorId, after.createdAt(), after.id(), excerpt,
+                        KeysetPages.probe(size));
+        return KeysetPages.of(rows, size, s -> new KeysetCursor(s.getCreatedAt(), s.getId()), s -> s);
+    }
+
+    /*
+     * Hands every post to the sink as it is read, inside one read-only transaction.
+     * Memory stays flat however many rows there are; the caller decides how to write them.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPosts(Consumer<PostExportDto> sink) {
+        long count = 0;
+        try (Stream<PostExportDto> rows = postRepository.streamAllForExport()) {
+            for (PostExportDto row : (Iterable<PostExportDto>) rows::iterator) {
+                sink.accept(row);
+                count++;
+            }
+        }
+        return count;
     }
 
     @Override
     public PostDto updatePost(Long id, CreatePostRequest req) {
-        Post p = postRepository.findById(id)
+        Post p = postRepository.findWithAuthorAndCommentsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", id));
         p.setTitle(req.getTitle());
         p.setContent(req.getContent());
         Post updated = postRepository.save(p);
-        return toDto(updated);
+        cacheInvalidator.evictPost(id);
+        publishSaved(updated);
+        return PostMapper.toDto(updated);
     }
 
+    /*
+     * Comments go first, a chunk per transaction, then the post row. No transaction spans the whole
+     * delete, so a post with many comments never holds its locks for long and is never loaded.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deletePost(Long id) {
         if (!postRepository.existsById(id)) {
             throw new ResourceNotFoundException("Post", id);
         }
-        postRepository.deleteById(id);
+        deleteComments(List.of(id));
+        if (bulkDeleter.deletePosts(List.of(id)).isEmpty()) {
+            throw new ResourceNotFoundException("Post", id);
+        }
     }
 
-    /* simple manual mapping to DTO to avoid exposing entity directly */
-    private PostDto toDto(Post p) {
-        PostDto dto = new PostDto();
-        dto.setId(p.getId());
-        dto.setTitle(p.getTitle());
-        dto.setContent(p.getContent());
-        dto.setCreatedAt(p.getCreatedAt());
-        if (p.getAuthor() != null) dto.setAuthorName(p.getAuthor().getName());
-        // map comments to CommentDto if any
-        if (p.getComments() != null) {
-            dto.setComments(p.getComments().stream().map(c -> {
-                CommentDto cd = new CommentDto();
-                cd.setId(c.getId());
-                cd.setText(c.getText());
-                cd.setCreatedAt(c.getCreatedAt());
-                return cd;
-            }).collect(Collectors.toList()));
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long deletePostsByAuthorId(Long authorId) {
+        if (!userRepository.existsById(authorId)) {
+            throw new ResourceNotFoundException("User", authorId);
+        }
+        PageRequest chunk = PageRequest.of(0, batchProperties.getDeleteChunkSize());
+        long deleted = 0;
+        for (List<Long> ids; !(ids = postRepository.findIdsByAuthorId(authorId, chunk)).isEmpty(); ) {
+            deleteComments(ids);
+            deleted += bulkDeleter.deletePosts(ids).size();
         }
-        return dto;
+        return deleted;
+    }
+
+    /* until a chunk comes back short; comments added meanwhile are swept with the posts */
+    private void deleteComments(List<Long> postIds) {
+        int chunk = batchProperties.getDeleteChunkSize();
+        int deleted;
+        do {
+            deleted = bulkDeleter.deleteCommentsBeforePosts(postIds, chunk);
+        } while (deleted == chunk);
+    }
+
+    /* listeners (the search index) act on it once the transaction commits */
+    private void publishSaved(Post p) {
+        events.publishEvent(new PostSavedEvent(p.getId(), p.getTitle(), p.getContent()));
+    }
+
+    /* pick the fetch plan that loads exactly the requested associations in one select */
+    private Optional<Post> findWith(Long id, Set<PostInclude> include) {
+        boolean author = include.contains(PostInclude.AUTHOR);
+        boolean comments = include.contains(PostInclude.COMMENTS);
+        if (author && comments) return postRepository.findWithAuthorAndCommentsById(id);
+        if (author) return postRepository.findWithAuthorById(id);
+        if (comments) return postRepository.findWithCommentsById(id);
+        return postRepository.findById(id);
     }
 }
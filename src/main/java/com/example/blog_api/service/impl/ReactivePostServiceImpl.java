@@ -0,0 +1,42 @@
+package com.example.blog_api.service.impl;
+
+import com.example.blog_api.dto.CommentDto;
+import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.exception.ResourceNotFoundException;
+import com.example.blog_api.repository.reactive.ReactiveCommentRepository;
+import com.example.blog_api.repository.reactive.ReactivePostRepository;
+import com.example.blog_api.service.ReactivePostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "blog.reactive", name = "enabled", havingValue = "true")
+public class ReactivePostServiceImpl implements ReactivePostService {
+
+    private final ReactivePostRepository postRepository;
+    private final ReactiveCommentRepository commentRepository;
+
+    /* same full view as PostService.getPostById; the post and its comments are read concurrently */
+    @Override
+    public Mono<PostDto> getPostById(Long id) {
+        return postRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Post", id)))
+                .zipWith(commentRepository.findByPostId(id).collectList(), (post, comments) -> {
+                    post.setComments(comments);
+                    return post;
+                });
+    }
+
+    /* the existence check comes first, so a missing post fails before anything is streamed */
+    @Override
+    public Flux<CommentDto> streamCommentsByPostId(Long postId) {
+        return postRepository.existsById(postId)
+                .flatMapMany(exists -> exists
+                        ? commentRepository.findByPostId(postId)
+                        : Flux.error(new ResourceNotFoundException("Post", postId)));
+    }
+}
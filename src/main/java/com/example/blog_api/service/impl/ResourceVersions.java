@@ -0,0 +1,32 @@
+package com.example.blog_api.service.impl;
+
+import com.example.blog_api.dto.ResourceVersion;
+import com.example.blog_api.repository.PostVersionView;
+import com.example.blog_api.repository.VersionView;
+
+import java.time.Instant;
+
+/* builds conditional-GET validators from version projections */
+final class ResourceVersions {
+
+    private ResourceVersions() {
+    }
+
+    static ResourceVersion of(String kind, Long id, VersionView v) {
+        return new ResourceVersion(kind + "-" + id + "-" + v.version(), lastModified(v.updatedAt(), v.createdAt()));
+    }
+
+    /* the author's version is part of the tag because the post representation embeds the author name */
+    static ResourceVersion ofPost(Long id, PostVersionView v) {
+        String author = v.authorVersion() == null ? "none" : String.valueOf(v.authorVersion());
+        Instant lastModified = lastModified(v.updatedAt(), v.createdAt());
+        if (v.authorUpdatedAt() != null && v.authorUpdatedAt().isAfter(lastModified)) {
+            lastModified = v.authorUpdatedAt();
+        }
+        return new ResourceVersion("post-" + id + "-" + v.version() + "-" + author, lastModified);
+    }
+
+    private static Instant lastModified(Instant updatedAt, Instant createdAt) {
+        return updatedAt != null ? updatedAt : createdAt;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.blog_api.service.impl;
+
+import com.example.blog_api.config.TrendingProperties;
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.dto.TrendingDto;
+import com.example.blog_api.dto.TrendingPostDto;
+import com.example.blog_api.repository.PostRepository;
+import com.example.blog_api.service.TrendingService;
+import com.example.blog_api.trending.TrendingEntry;
+import com.example.blog_api.trending.TrendingMetric;
+import com.example.blog_api.trending.TrendingTracker;
+import com.example.blog_api.trending.TrendingWindow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TrendingServiceImpl implements TrendingService {
+
+    private final TrendingTracker tracker;
+    private final PostRepository postRepository;
+    private final TrendingProperties props;
+
+    /* on the read path of every post view: no transaction, no database */
+    @Override
+    public void recordView(Long postId) {
+        tracker.recordView(postId);
+    }
+
+    /* the ranking comes from memory; only the summaries of the posts shown are read, by primary key */
+    @Override
+    @Transactional(readOnly = true)
+    public TrendingDto getTrending(String window, String by, int limit) {
+        TrendingWindow w = TrendingWindow.parse(window);
+        TrendingMetric m = TrendingMetric.parse(by);
+        TrendingTracker.Ranking ranking = tracker.ranking(w, m);
+        List<TrendingEntry> top = ranking.entries()
+                .subList(0, Math.min(ranking.entries().size(), Math.max(1, Math.min(limit, props.getRankingSize()))));
+        if (top.isEmpty()) return new TrendingDto(w.label(), m.label(), ranking.asOf(), List.of());
+
+        Map<Long, PostSummaryDto> byId = postRepository
+                .findSummariesByIds(top.stream().map(TrendingEntry::postId).toList(), 0).stream()
+                .collect(Collectors.toMap(PostSummaryDto::getId, Function.identity()));
+        List<TrendingPostDto> items = new ArrayList<>(top.size());
+        for (TrendingEntry entry : top) {
+            // deleted since it was counted
+            PostSummaryDto summary = byId.get(entry.postId());
+            if (summary != null) items.add(new TrendingPostDto(entry.score(), summary));
+        }
+        return new TrendingDto(w.label(), m.label(), ranking.asOf(), items);
+    }
+}
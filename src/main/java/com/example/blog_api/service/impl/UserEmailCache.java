@@ -0,0 +1,51 @@
+package com.example.blog_api.service.impl;
+
+import com.example.blog_api.config.CacheNames;
+import com.example.blog_api.repository.UserRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Email to user id resolution in front of idx_users_email. Emails no user has are cached too,
+ * since the gateway asks about unknown senders as often as about known ones.
+ * <p>
+ * The user writes evict every email they touch through the transaction-aware cache manager, so
+ * once they commit. Misses load inside Caffeine's per-key computation, which an eviction waits
+ * for, so a lookup racing a write cannot leave the old answer behind.
+ */
+@Component
+public class UserEmailCache {
+
+    /* cached for emails without a user; ids start at 1 */
+    private static final Long NO_USER = 0L;
+
+    private final UserRepository userRepository;
+    private final Cache cache;
+
+    public UserEmailCache(CacheManager cacheManager, UserRepository userRepository) {
+        this.userRepository = userRepository;
+        this.cache = cacheManager.getCache(CacheNames.USER_IDS_BY_EMAIL);
+        if (cache == null) throw new IllegalStateException("Cache " + CacheNames.USER_IDS_BY_EMAIL + " is not configured");
+    }
+
+    /* concurrent misses for the same email share one query */
+    public Optional<Long> findUserId(String email) {
+        String key = key(email);
+        Long id = cache.get(key, () -> userRepository.findIdByEmail(key).orElse(NO_USER));
+        return NO_USER.equals(id) ? Optional.empty() : Optional.of(id);
+    }
+
+    public void evict(Collection<String> emails) {
+        emails.forEach(e -> cache.evict(key(e)));
+    }
+
+    /* emails compare case-insensitively, like the unique index under MySQL's default collation */
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,24 +1,47 @@
 package com.example.blog_api.service.impl;
 
+import com.example.blog_api.coalescing.Coalesced;
+import com.example.blog_api.config.BatchProperties;
+import com.example.blog_api.config.CacheNames;
+import com.example.blog_api.dto.BatchResult;
 import com.example.blog_api.dto.CreateUserRequest;
+import com.example.blog_api.dto.MultiGetResult;
+import com.example.blog_api.dto.ResourceVersion;
 import com.example.blog_api.dto.UserDto;
 import com.example.blog_api.entity.User;
 import com.example.blog_api.exception.ResourceNotFoundException;
+import com.example.blog_api.mapper.UserMapper;
+import com.example.blog_api.repository.PostRepository;
 import com.example.blog_api.repository.UserRepository;
 import com.example.blog_api.service.UserService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("blog.service")
 @Transactional
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final DtoCacheInvalidator cacheInvalidator;
+    private final Validator validator;
+    private final BatchProperties batchProperties;
+    private final UserEmailCache emailCache;
 
     @Override
     public UserDto createUser(CreateUserRequest req) {
@@ -27,47 +50,103 @@ public class UserServiceImpl implements UserService {
                 .email(req.getEmail())
                 .build();
         User saved = userRepository.save(u);
-        return toDto(saved);
+        // the email may be cached as unknown
+        emailCache.evict(List.of(saved.getEmail()));
+        return UserMapper.toDto(saved);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    public BatchResult<UserDto> createUsers(List<CreateUserRequest> items) {
+        Batch<CreateUserRequest, UserDto> batch = Batch.of(items, batchProperties.getMaxItems(), validator);
+        // emails compare case-insensitively, like the unique index under MySQL's default collation
+        Set<String> taken = new HashSet<>();
+        userRepository.findExistingEmails(batch.valid().map(CreateUserRequest::getEmail).toList())
+                .forEach(e -> taken.add(e.toLowerCase(Locale.ROOT)));
+        Map<Integer, User> pending = new LinkedHashMap<>();
+        batch.forEachValid((i, req) -> {
+            if (!taken.add(req.getEmail().toLowerCase(Locale.ROOT))) {
+                batch.reject(i, "email: Email is already in use");
+                return;
+            }
+            pending.put(i, User.builder()
+                    .name(req.getName())
+                    .email(req.getEmail())
+                    .build());
+        });
+        userRepository.saveAll(pending.values());
+        emailCache.evict(pending.values().stream().map(User::getEmail).toList());
+        pending.forEach((i, u) -> batch.accept(i, UserMapper.toDto(u)));
+        return batch.result();
+    }
+
+    /* on the primary and synchronized with evictions, for the same reasons as PostServiceImpl.getPostById */
+    @Override
+    @Coalesced
+    @Transactional
+    @Cacheable(cacheNames = CacheNames.USERS, key = "#id", sync = true)
     public UserDto getUserById(Long id) {
         User u = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", id));
-        return toDto(u);
+        return UserMapper.toDto(u);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MultiGetResult<UserDto> getUsersByIds(List<Long> ids) {
+        List<Long> distinct = MultiGet.ids(ids);
+        return MultiGet.of(distinct, userRepository.findAllById(distinct), User::getId, UserMapper::toDto);
+    }
+
+    /* on the primary, like the cached read */
+    @Override
+    @Coalesced
+    @Transactional
+    public ResourceVersion getUserVersion(Long id) {
+        return userRepository.findVersionById(id)
+                .map(v -> ResourceVersions.of("user", id, v))
+                .orElseThrow(() -> new ResourceNotFoundException("User", id));
+    }
+
+    /* no transaction for a cache hit; a miss runs one indexed query */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Long getUserIdByEmail(String email) {
+        return emailCache.findUserId(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User with email " + email + " not found"));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream().map(this::toDto).collect(Collectors.toList());
+        return userRepository.findAll().stream().map(UserMapper::toDto).collect(Collectors.toList());
     }
 
     @Override
     public UserDto updateUser(Long id, CreateUserRequest req) {
         User u = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", id));
+        boolean renamed = !u.getName().equals(req.getName());
+        String oldEmail = u.getEmail();
         u.setName(req.getName());
         u.setEmail(req.getEmail());
         User updated = userRepository.save(u);
-        return toDto(updated);
+        cacheInvalidator.evictUser(id);
+        emailCache.evict(List.of(oldEmail, updated.getEmail()));
+        // cached posts carry the author name
+        if (renamed) cacheInvalidator.evictPosts(postRepository.findIdsByAuthorId(id));
+        return UserMapper.toDto(updated);
     }
 
     @Override
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User", id);
-        }
+        // doubles as the existence check
+        String email = userRepository.findEmailById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", id));
+        List<Long> authoredPostIds = postRepository.findIdsByAuthorId(id);
+        postRepository.detachAuthor(id);
         userRepository.deleteById(id);
-    }
-
-    private UserDto toDto(User u) {
-        UserDto dto = new UserDto();
-        dto.setId(u.getId());
-        dto.setName(u.getName());
-        dto.setEmail(u.getEmail());
-        dto.setCreatedAt(u.getCreatedAt());
-        return dto;
+        cacheInvalidator.evictUser(id);
+        cacheInvalidator.evictPosts(authoredPostIds);
+        emailCache.evict(List.of(email));
     }
 }
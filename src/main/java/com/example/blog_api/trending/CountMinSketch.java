@@ -0,0 +1,100 @@
+package com.example.blog_api.trending;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch of post ids, striped so that threads on different cores increment different
+ * cache lines. Incrementing allocates nothing and takes no lock; an estimate may count too high
+ * (colliding ids share cells) but never too low.
+ */
+final class CountMinSketch {
+
+    static final int DEPTH = 4;
+
+    private final int width;
+    private final AtomicLongArray[] stripes;
+
+    /* width and stripes must be powers of two */
+    CountMinSketch(int width, int stripes) {
+        this.width = width;
+        this.stripes = new AtomicLongArray[stripes];
+        for (int i = 0; i < stripes; i++) this.stripes[i] = new AtomicLongArray(DEPTH * width);
+    }
+
+    /** Counts n occurrences; returns the estimate within the calling thread's stripe afterwards. */
+    @SuppressWarnings("deprecation") // Thread.threadId() needs Java 19
+    long add(long key, long n) {
+        AtomicLongArray cells = stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)];
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, cells.addAndGet(cell(h1, h2, row, width), n));
+        }
+        return min;
+    }
+
+    long estimate(long key) {
+        return estimate(key, null);
+    }
+
+    /** Estimate of this sketch plus {@code extra}, a drained copy with the same width. */
+    long estimate(long key, long[][] extra) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int cell = cell(h1, h2, row, width);
+            long sum = 0;
+            for (AtomicLongArray stripe : stripes) sum += stripe.get(cell);
+            if (extra != null) {
+                for (long[] cells : extra) sum += cells[cell];
+            }
+            min = Math.min(min, sum);
+        }
+        return min;
+    }
+
+    /** Estimate from a drained copy alone. */
+    static long estimate(long key, long[] cells, int width) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, cells[cell(h1, h2, row, width)]);
+        }
+        return min;
+    }
+
+    /* adds n to every row of key in a drained copy, which raises its estimate by exactly n */
+    static void add(long key, long n, long[] cells, int width) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int row = 0; row < DEPTH; row++) cells[cell(h1, h2, row, width)] += n;
+    }
+
+    /**
+     * Moves all counts into {@code target} and leaves the sketch empty. Each cell is swapped
+     * atomically, so an increment racing with the drain lands on one side or the other, never lost.
+     */
+    void drainTo(long[] target) {
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < target.length; i++) target[i] += stripe.getAndSet(i, 0);
+        }
+    }
+
+    /* double hashing: row i uses h1 + i * h2 */
+    private static int cell(long h1, long h2, int row, int width) {
+        return row * width + (int) ((h1 + row * h2) & (width - 1));
+    }
+
+    /* murmur3 finalizer; post ids are sequential and need spreading */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
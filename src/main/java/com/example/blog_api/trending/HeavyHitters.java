@@ -0,0 +1,68 @@
+package com.example.blog_api.trending;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free set of the ids most likely to rank, next to a {@link CountMinSketch}
+ * that only counts. An id is offered each time its count doubles, so a hot post knocks on the
+ * door a handful of times per bucket rather than on every view. It takes a free slot near its
+ * hash, or the slot of the weakest neighbour if that one has counted less.
+ */
+final class HeavyHitters {
+
+    private static final int PROBES = 8;
+
+    private final AtomicLongArray slots;
+    private final CountMinSketch sketch;
+
+    /* capacity must be a power of two; 0 marks a free slot, post ids are positive */
+    HeavyHitters(int capacity, CountMinSketch sketch) {
+        this.slots = new AtomicLongArray(capacity);
+        this.sketch = sketch;
+    }
+
+    void offer(long key, long count) {
+        int mask = slots.length() - 1;
+        int start = (int) (key * 0x9E3779B97F4A7C15L >>> 40) & mask;
+        int weakest = -1;
+        long weakestKey = 0;
+        long weakestCount = Long.MAX_VALUE;
+        for (int probe = 0; probe < PROBES; probe++) {
+            int slot = (start + probe) & mask;
+            long current = slots.get(slot);
+            if (current == 0 && slots.compareAndSet(slot, 0, key)) return;
+            if (current == 0) current = slots.get(slot);
+            if (current == key) return;
+            long currentCount = sketch.estimate(current);
+            if (currentCount < weakestCount) {
+                weakest = slot;
+                weakestKey = current;
+                weakestCount = currentCount;
+            }
+        }
+        if (weakestCount < count) slots.compareAndSet(weakest, weakestKey, key);
+    }
+
+    /* the ids held right now, possibly with duplicates from a racing drain */
+    long[] ids() {
+        long[] ids = new long[slots.length()];
+        int n = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long id = slots.get(i);
+            if (id != 0) ids[n++] = id;
+        }
+        return Arrays.copyOf(ids, n);
+    }
+
+    /* empties the set and returns what it held */
+    long[] drain() {
+        long[] ids = new long[slots.length()];
+        int n = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long id = slots.getAndSet(i, 0);
+            if (id != 0) ids[n++] = id;
+        }
+        return Arrays.copyOf(ids, n);
+    }
+}
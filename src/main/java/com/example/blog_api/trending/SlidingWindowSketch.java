@@ -0,0 +1,130 @@
+package com.example.blog_api.trending;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Approximate per-post counts over a sliding window, kept as a ring of closed buckets plus the
+ * bucket being counted. Recording touches only the live bucket and never blocks; closing a
+ * bucket, ranking and seeding are rare and synchronized among themselves.
+ * <p>
+ * The window covers the live bucket and the {@code buckets - 1} closed before it, so its length
+ * varies by up to one bucket as time passes.
+ */
+final class SlidingWindowSketch {
+
+    /* ids kept per closed bucket as ranking candidates */
+    static final int CANDIDATES_PER_BUCKET = 256;
+
+    /* lowest score first, and among equal scores the higher id, so rankings list ties oldest post first */
+    private static final Comparator<TrendingEntry> WEAKEST_FIRST =
+            Comparator.comparingLong(TrendingEntry::score).thenComparing(Comparator.comparingLong(TrendingEntry::postId).reversed());
+
+    private final long bucketMillis;
+    private final int width;
+    private final CountMinSketch live;
+    private final HeavyHitters liveHitters;
+    private final long[][] closed;
+    private final long[][] closedHitters;
+
+    private int newest;
+    private long liveBucket;
+
+    SlidingWindowSketch(Duration window, int buckets, int width, int stripes, int hitterSlots, Instant now) {
+        if (buckets < 2) throw new IllegalArgumentException("A sliding window needs at least 2 buckets");
+        this.bucketMillis = window.toMillis() / buckets;
+        this.width = width;
+        this.live = new CountMinSketch(width, stripes);
+        this.liveHitters = new HeavyHitters(hitterSlots, live);
+        this.closed = new long[buckets - 1][CountMinSketch.DEPTH * width];
+        this.closedHitters = new long[buckets - 1][];
+        Arrays.fill(closedHitters, new long[0]);
+        this.newest = closed.length - 1;
+        this.liveBucket = now.toEpochMilli() / bucketMillis;
+    }
+
+    void record(long postId, long n) {
+        long after = live.add(postId, n);
+        // offered whenever the count passes a power of two
+        if (Long.highestOneBit(after) != Long.highestOneBit(after - n)) {
+            liveHitters.offer(postId, live.estimate(postId));
+        }
+    }
+
+    /** Closes the live bucket, and empty ones after it, until the live bucket is the one of {@code now}. */
+    synchronized void advance(Instant now) {
+        long bucket = now.toEpochMilli() / bucketMillis;
+        // past one full turn every closed bucket has been replaced anyway
+        long steps = Math.min(bucket - liveBucket, closed.length + 1L);
+        for (long i = 0; i < steps; i++) closeLiveBucket();
+        if (bucket > liveBucket) liveBucket = bucket;
+    }
+
+    /** The {@code limit} posts with the highest counts in the window, highest first. */
+    synchronized List<TrendingEntry> top(int limit) {
+        Set<Long> candidates = new HashSet<>();
+        for (long[] ids : closedHitters) {
+            for (long id : ids) candidates.add(id);
+        }
+        for (long id : liveHitters.ids()) candidates.add(id);
+
+        // min-heap of the best so far: the weakest entry is the one to drop
+        PriorityQueue<TrendingEntry> heap = new PriorityQueue<>(limit + 1, WEAKEST_FIRST);
+        for (long id : candidates) {
+            long score = live.estimate(id, closed);
+            if (score == 0) continue;
+            heap.offer(new TrendingEntry(id, score));
+            if (heap.size() > limit) heap.poll();
+        }
+        List<TrendingEntry> top = new ArrayList<>(heap);
+        top.sort(WEAKEST_FIRST.reversed());
+        return top;
+    }
+
+    /**
+     * Restores a count persisted {@code age} ago. It is spread evenly over the window, and the part
+     * that would have slid out since then is dropped.
+     */
+    synchronized void seed(long postId, long score, Duration age) {
+        int buckets = closed.length + 1;
+        long elapsed = (age.toMillis() + bucketMillis - 1) / bucketMillis;
+        int remaining = (int) Math.min(closed.length, buckets - elapsed);
+        long share = Math.max(1, score / buckets);
+        for (int i = 0; i < remaining; i++) {
+            int slot = Math.floorMod(newest - i, closed.length);
+            CountMinSketch.add(postId, share, closed[slot], width);
+            long[] ids = closedHitters[slot];
+            if (Arrays.stream(ids).noneMatch(id -> id == postId)) {
+                ids = Arrays.copyOf(ids, ids.length + 1);
+                ids[ids.length - 1] = postId;
+                closedHitters[slot] = ids;
+            }
+        }
+    }
+
+    private void closeLiveBucket() {
+        newest = (newest + 1) % closed.length;
+        long[] cells = closed[newest];
+        Arrays.fill(cells, 0);
+        live.drainTo(cells);
+        long[] ids = liveHitters.drain();
+        closedHitters[newest] = strongest(ids, cells);
+    }
+
+    /* the candidates worth keeping for a closed bucket, judged by their count in that bucket */
+    private long[] strongest(long[] ids, long[] cells) {
+        if (ids.length <= CANDIDATES_PER_BUCKET) return ids;
+        return Arrays.stream(ids).boxed()
+                .sorted(Comparator.comparingLong((Long id) -> CountMinSketch.estimate(id, cells, width)).reversed())
+                .limit(CANDIDATES_PER_BUCKET)
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.blog_api.trending;
+
+/**
+ * A post and its estimated count within a window.
+ */
+public record TrendingEntry(long postId, long score) {
+}
@@ -0,0 +1,22 @@
+package com.example.blog_api.trending;
+
+import com.example.blog_api.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public enum TrendingMetric {
+
+    VIEWS, COMMENTS;
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static TrendingMetric parse(String value) {
+        return Arrays.stream(values()).filter(m -> m.label().equalsIgnoreCase(value)).findFirst()
+                .orElseThrow(() -> new BadRequestException("Unknown ranking '" + value + "', expected one of "
+                        + Arrays.stream(values()).map(TrendingMetric::label).collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.blog_api.trending;
+
+import com.example.blog_api.config.TrendingProperties;
+import com.example.blog_api.event.CommentsAddedEvent;
+import com.example.blog_api.repository.TrendingSnapshotRepository;
+import com.example.blog_api.repository.TrendingSnapshotRow;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts post views and comments per sliding window and keeps the current top posts of each.
+ * <p>
+ * Recording is lock-free and allocation-free, and costs a few atomic adds per window. The rankings
+ * are recomputed every refresh interval and served from memory. Every snapshot interval they are
+ * written to {@code trending_snapshots}, and on startup they are read back into the windows.
+ * Counts are per instance: each instance ranks the traffic it served.
+ */
+@Slf4j
+@Component
+public class TrendingTracker {
+
+    /* served until the first refresh */
+    private static final Ranking EMPTY = new Ranking(List.of(), Instant.EPOCH);
+
+    private final TrendingProperties props;
+    private final TrendingSnapshotRepository snapshots;
+    /* indexed by TrendingWindow.ordinal(); plain arrays so recording iterates without allocating */
+    private final SlidingWindowSketch[] views;
+    private final SlidingWindowSketch[] comments;
+
+    private volatile Map<TrendingWindow, Map<TrendingMetric, Ranking>> rankings = Map.of();
+
+    public TrendingTracker(TrendingProperties props, TrendingSnapshotRepository snapshots) {
+        this.props = props;
+        this.snapshots = snapshots;
+        // one stripe per core, so concurrent views of the same hot post rarely hit the same cells
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+        Instant now = Instant.now();
+        TrendingWindow[] windows = TrendingWindow.values();
+        this.views = new SlidingWindowSketch[windows.length];
+        this.comments = new SlidingWindowSketch[windows.length];
+        for (TrendingWindow w : windows) {
+            views[w.ordinal()] = new SlidingWindowSketch(w.length(), w.buckets(), props.getSketchWidth(), stripes, props.getHeavyHitters(), now);
+            comments[w.ordinal()] = new SlidingWindowSketch(w.length(), w.buckets(), props.getSketchWidth(), stripes, props.getHeavyHitters(), now);
+        }
+    }
+
+    public void recordView(long postId) {
+        for (SlidingWindowSketch window : views) window.record(postId, 1);
+    }
+
+    public void recordComments(long postId, long count) {
+        for (SlidingWindowSketch window : comments) window.record(postId, count);
+    }
+
+    /* only once the comments are committed; a rolled back batch would otherwise still count */
+    @TransactionalEventListener
+    public void onCommentsAdded(CommentsAddedEvent event) {
+        recordComments(event.postId(), event.count());
+    }
+
+    /** Top posts of the last refresh, highest first; at most {@code rankingSize} entries. */
+    public Ranking ranking(TrendingWindow window, TrendingMetric metric) {
+        Map<TrendingMetric, Ranking> byMetric = rankings.get(window);
+        return byMetric == null ? EMPTY : byMetric.getOrDefault(metric, EMPTY);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.trending.refresh-interval:10s}")
+    public void refresh() {
+        Instant now = Instant.now();
+        Map<TrendingWindow, Map<TrendingMetric, Ranking>> next = new EnumMap<>(TrendingWindow.class);
+        for (TrendingWindow w : TrendingWindow.values()) {
+            Map<TrendingMetric, Ranking> byMetric = new EnumMap<>(TrendingMetric.class);
+            for (TrendingMetric m : TrendingMetric.values()) {
+                SlidingWindowSketch sketch = sketch(w, m);
+                sketch.advance(now);
+                byMetric.put(m, new Ranking(sketch.top(props.getRankingSize()), now));
+            }
+            next.put(w, byMetric);
+        }
+        rankings = next;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.trending.snapshot-interval:1m}",
+            initialDelayString = "${blog.trending.snapshot-interval:1m}")
+    public void snapshot() {
+        List<TrendingSnapshotRow> rows = new ArrayList<>();
+        rankings.forEach((w, byMetric) -> byMetric.forEach((m, ranking) -> {
+            List<TrendingEntry> entries = ranking.entries();
+            for (int i = 0; i < entries.size(); i++) {
+                TrendingEntry e = entries.get(i);
+                rows.add(new TrendingSnapshotRow(w.label(), m.label(), i + 1, e.postId(), e.score(), ranking.asOf()));
+            }
+        }));
+        try {
+            snapshots.replaceAll(rows);
+        } catch (RuntimeException e) {
+            // the in-memory counts are unaffected; the next snapshot tries again
+            log.warn("Writing the trending snapshot failed: {}", e.getMessage());
+        }
+    }
+
+    /* seeds the windows with the last persisted rankings, minus what has slid out since */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        Instant now = Instant.now();
+        List<TrendingSnapshotRow> rows;
+        try {
+            rows = snapshots.findAll();
+        } catch (RuntimeException e) {
+            log.warn("Reading the trending snapshot failed, starting from empty counts: {}", e.getMessage());
+            return;
+        }
+        for (TrendingSnapshotRow row : rows) {
+            TrendingWindow w;
+            TrendingMetric m;
+            try {
+                w = TrendingWindow.parse(row.window());
+                m = TrendingMetric.parse(row.metric());
+            } catch (RuntimeException e) {
+                continue; // a window or metric that no longer exists
+            }
+            Duration age = Duration.between(row.takenAt(), now);
+            if (!age.isNegative()) sketch(w, m).seed(row.postId(), row.score(), age);
+        }
+        refresh();
+        log.info("Trending counters restored from {} snapshot rows", rows.size());
+    }
+
+    @PreDestroy
+    public void close() {
+        refresh();
+        snapshot();
+    }
+
+    private SlidingWindowSketch sketch(TrendingWindow window, TrendingMetric metric) {
+        return (metric == TrendingMetric.VIEWS ? views : comments)[window.ordinal()];
+    }
+
+    public record Ranking(List<TrendingEntry> entries, Instant asOf) {
+    }
+}
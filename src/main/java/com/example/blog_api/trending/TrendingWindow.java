@@ -0,0 +1,38 @@
+package com.example.blog_api.trending;
+
+import com.example.blog_api.exception.BadRequestException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Sliding windows the ranking is kept for, each advanced in {@code buckets} steps.
+ */
+public enum TrendingWindow {
+
+    ONE_HOUR("1h", Duration.ofHours(1), 12),
+    ONE_DAY("24h", Duration.ofHours(24), 24);
+
+    private final String label;
+    private final Duration length;
+    private final int buckets;
+
+    TrendingWindow(String label, Duration length, int buckets) {
+        this.label = label;
+        this.length = length;
+        this.buckets = buckets;
+    }
+
+    public String label() { return label; }
+
+    public Duration length() { return length; }
+
+    public int buckets() { return buckets; }
+
+    public static TrendingWindow parse(String value) {
+        return Arrays.stream(values()).filter(w -> w.label.equalsIgnoreCase(value)).findFirst()
+                .orElseThrow(() -> new BadRequestException("Unknown window '" + value + "', expected one of "
+                        + Arrays.stream(values()).map(TrendingWindow::label).collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.blog_api.benchmark;
+
+import com.example.blog_api.BlogApiApplication;
+import com.example.blog_api.dto.BatchResult;
+import com.example.blog_api.dto.CreatePostRequest;
+import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.service.PostService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Throughput of single-post reads on platform vs virtual request threads, with every SQL statement
+ * delayed to stand in for a slow database. Reads pick one of {@value #POSTS} posts at random; no
+ * cache answers them and request coalescing is off. Both runs get the same small Tomcat pool and a large
+ * connection pool, so the thread model is the only limit that differs.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test} on Java 21+; results are written to {@code target/benchmarks}.
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class VirtualThreadsBenchmarkTest {
+
+    /* small on purpose: the platform pool has to run out before the CPU does */
+    private static final int REQUEST_THREADS = 10;
+    private static final int CLIENTS = 200;
+    /* reads are spread over this many posts instead of hammering a single row */
+    private static final int POSTS = 1000;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(10);
+
+    @Test
+    void virtualThreadsOutlastThePlatformPoolUnderDatabaseLatency() throws Exception {
+        Result platform = run("platform", false);
+        Result virtual = run("virtual", true);
+
+        String report = platform + System.lineSeparator() + virtual + System.lineSeparator()
+                + String.format("speedup: %.2fx%n", virtual.throughput() / platform.throughput());
+        System.out.print(report);
+        Path out = Path.of("target", "benchmarks", "virtual-threads.txt");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, report);
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private Result run(String mode, boolean virtual) throws Exception {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + REQUEST_THREADS,
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=200",
+                "--spring.datasource.hikari.connection-timeout=30000",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + SimulatedLatency.class.getName(),
+                // every read has to reach the database
+                "--blog.cache.dto.enabled=false",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                // concurrent reads of the same post would share one load, and more of them overlap
+                // on virtual threads, which would credit coalescing to the thread model
+                "--blog.coalescing.enabled=false"));
+        if (virtual) args.add("--spring.profiles.active=virtual");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApiApplication.class)
+                .run(args.toArray(String[]::new))) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            List<URI> posts = seed(context.getBean(PostService.class)).stream()
+                    .map(id -> URI.create("http://localhost:" + port + "/api/posts/" + id))
+                    .toList();
+            return load(mode, posts);
+        }
+    }
+
+    /* one batch, so the simulated latency is paid for a handful of statements only */
+    private static List<Long> seed(PostService posts) {
+        List<CreatePostRequest> requests = new ArrayList<>(POSTS);
+        for (int i = 0; i < POSTS; i++) {
+            CreatePostRequest request = new CreatePostRequest();
+            request.setTitle("Benchmark post " + i);
+            request.setContent("Content of benchmark post " + i);
+            request.setAuthorId(1L);
+            requests.add(request);
+        }
+        BatchResult<PostDto> created = posts.createPosts(requests);
+        assertThat(created.getFailed()).isZero();
+        return created.getItems().stream().map(item -> item.getData().getId()).toList();
+    }
+
+    private Result load(String mode, List<URI> posts) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean stopped = new AtomicBoolean();
+        AtomicLong ok = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong latencyNanos = new AtomicLong();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.execute(() -> {
+                while (!stopped.get()) {
+                    URI uri = posts.get(ThreadLocalRandom.current().nextInt(posts.size()));
+                    HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+                    long start = System.nanoTime();
+                    boolean success;
+                    try {
+                        success = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                    } catch (Exception e) {
+                        success = false;
+                    }
+                    if (!measuring.get() || stopped.get()) continue;
+                    if (success) {
+                        ok.incrementAndGet();
+                        latencyNanos.addAndGet(System.nanoTime() - start);
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+        }
+        Thread.sleep(WARMUP.toMillis());
+        measuring.set(true);
+        Thread.sleep(MEASURE.toMillis());
+        stopped.set(true);
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+
+        long requests = ok.get();
+        double meanMs = requests == 0 ? 0 : latencyNanos.get() / 1e6 / requests;
+        return new Result(mode, requests / (MEASURE.toMillis() / 1000.0), meanMs, errors.get());
+    }
+
+    private record Result(String mode, double throughput, double meanLatencyMs, long errors) {
+        @Override
+        public String toString() {
+            return String.format("%-8s %8.0f req/s  mean %6.1f ms  errors %d", mode, throughput, meanLatencyMs, errors);
+        }
+    }
+
+    /** Holds the calling thread for a fixed time per statement, like a database round trip would. */
+    public static class SimulatedLatency implements StatementInspector {
+
+        private static final long DELAY_MS = 250;
+
+        @Override
+        public String inspect(String sql) {
+            try {
+                Thread.sleep(DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.blog_api.coalescing;
+
+import com.example.blog_api.config.CoalescingProperties;
+import com.example.blog_api.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class CoalescingAspectTest {
+
+    private MeterRegistry registry;
+    private CoalescingProperties props;
+    private Reads target;
+    private Reads reads;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        props = new CoalescingProperties();
+        target = new Reads();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new CoalescingAspect(props, registry));
+        reads = factory.getProxy();
+    }
+
+    @AfterEach
+    void release() {
+        target.release.countDown();
+    }
+
+    @Test
+    void concurrentIdenticalCalls_shouldShareOneLoad() throws Exception {
+        List<Object> results = new CopyOnWriteArrayList<>();
+        List<Thread> callers = start(8, () -> results.add(reads.load(1L)));
+        awaitBlocked(callers);
+
+        target.release.countDown();
+        for (Thread t : callers) t.join(5000);
+
+        assertThat(target.loads).hasValue(1);
+        assertThat(results).hasSize(8).containsOnly("post-1");
+        assertThat(calls("loaded")).isEqualTo(1);
+        assertThat(calls("shared")).isEqualTo(7);
+    }
+
+    @Test
+    void sharedLoad_shouldHandItsExceptionToEveryCaller() throws Exception {
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        List<Thread> callers = start(4, () -> {
+            try {
+                reads.load(-1L);
+            } catch (ResourceNotFoundException e) {
+                errors.add(e);
+            }
+        });
+        awaitBlocked(callers);
+
+        target.release.countDown();
+        for (Thread t : callers) t.join(5000);
+
+        assertThat(target.loads).hasValue(1);
+        assertThat(errors).hasSize(4);
+    }
+
+    @Test
+    void callsAfterTheLoadEnded_orWithOtherArguments_shouldRunAgain() {
+        target.release.countDown();
+
+        assertThat(reads.load(1L)).isEqualTo("post-1");
+        assertThat(reads.load(1L)).isEqualTo("post-1");
+        assertThat(reads.load(2L)).isEqualTo("post-2");
+
+        assertThat(target.loads).hasValue(3);
+        assertThat(calls("loaded")).isEqualTo(3);
+    }
+
+    @Test
+    void callWaitingPastTheTimeout_shouldRunItsOwnLoad() throws Exception {
+        props.setTimeout(Duration.ofMillis(50));
+        target.blockFirstOnly = true;
+        List<Thread> leader = start(1, () -> reads.load(1L));
+        awaitBlocked(leader);
+
+        assertThat(reads.load(1L)).isEqualTo("post-1");
+
+        assertThat(target.loads).hasValue(2);
+        assertThat(calls("timed_out")).isEqualTo(1);
+    }
+
+    @Test
+    void callInsideATransaction_shouldNotBeCoalesced() {
+        target.release.countDown();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            reads.load(1L);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertThat(calls("bypassed")).isEqualTo(1);
+        assertThat(calls("loaded")).isZero();
+    }
+
+    private List<Thread> start(int n, Runnable call) {
+        List<Thread> threads = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Thread t = new Thread(call);
+            t.start();
+            threads.add(t);
+        }
+        return threads;
+    }
+
+    /* the first call waits on the latch, the others on its future */
+    private void awaitBlocked(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!threads.stream().allMatch(t -> t.getState() == Thread.State.WAITING
+                || t.getState() == Thread.State.TIMED_WAITING)) {
+            assertThat(System.nanoTime()).as("callers blocked in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private double calls(String result) {
+        var counter = registry.find("blog.coalescing.calls").tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    static class Reads {
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loads = new AtomicInteger();
+        volatile boolean blockFirstOnly;
+
+        @Coalesced
+        public String load(Long id) {
+            int n = loads.incrementAndGet();
+            if (!blockFirstOnly || n == 1) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (id < 0) throw new ResourceNotFoundException("Post", id);
+            return "post-" + id;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.blog_api.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class DtoCacheConfigTest {
+
+    @Test
+    void cacheManager_shouldHoldDtos_byDefault() throws Exception {
+        CacheManager manager = cacheManager(new DtoCacheProperties());
+
+        Cache posts = manager.getCache(CacheNames.POSTS);
+        posts.put(1L, "post");
+
+        assertThat(posts.get(1L, String.class)).isEqualTo("post");
+    }
+
+    @Test
+    void cacheManager_whenDisabled_shouldHoldNoDtos_butKeepTheEmailCache() throws Exception {
+        DtoCacheProperties props = new DtoCacheProperties();
+        props.setEnabled(false);
+        CacheManager manager = cacheManager(props);
+
+        for (String name : new String[]{CacheNames.POSTS, CacheNames.USERS}) {
+            Cache cache = manager.getCache(name);
+            cache.put(1L, "dto");
+            assertThat(cache.get(1L)).isNull();
+        }
+        Cache emails = manager.getCache(CacheNames.USER_IDS_BY_EMAIL);
+        emails.put("alice@example.com", 1L);
+        assertThat(emails.get("alice@example.com", Long.class)).isEqualTo(1L);
+    }
+
+    private static CacheManager cacheManager(DtoCacheProperties props) throws Exception {
+        CacheManager manager = new DtoCacheConfig().cacheManager(props, new UserEmailCacheProperties());
+        if (manager instanceof InitializingBean bean) bean.afterPropertiesSet();
+        return manager;
+    }
+}
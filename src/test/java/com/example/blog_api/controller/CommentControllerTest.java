@@ -2,6 +2,8 @@ package com.example.blog_api.controller;
 
 import com.example.blog_api.dto.CommentDto;
 import com.example.blog_api.dto.CreateCommentRequest;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.ResourceVersion;
 import com.example.blog_api.service.CommentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -75,25 +77,50 @@ class CommentControllerTest {
     @Test
     @DisplayName("GET /api/comments/{id} returns 200")
     void getComment() throws Exception {
+        given(commentService.getCommentVersion(10L)).willReturn(new ResourceVersion("comment-10-0", Instant.parse("2024-01-01T00:00:00Z")));
         given(commentService.getCommentById(10L)).willReturn(sampleComment(10L));
 
         mockMvc.perform(get("/api/comments/{id}", 10))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"comment-10-0\""))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id", is(10)))
                 .andExpect(jsonPath("$.text", containsString("Comment")));
     }
 
     @Test
-    @DisplayName("GET /api/posts/{postId}/comments returns 200 and list")
+    @DisplayName("GET /api/comments/{id} with matching If-None-Match returns 304")
+    void getCommentNotModified() throws Exception {
+        given(commentService.getCommentVersion(12L)).willReturn(new ResourceVersion("comment-12-0", Instant.parse("2024-01-01T00:00:00Z")));
+
+        mockMvc.perform(get("/api/comments/{id}", 12).header("If-None-Match", "\"comment-12-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/{postId}/comments returns 200 and a page of comments")
     void listCommentsForPost() throws Exception {
-        given(commentService.getCommentsByPostId(5L)).willReturn(List.of(sampleComment(1L), sampleComment(2L)));
+        given(commentService.getCommentsByPostId(5L, null, 50))
+                .willReturn(new CursorPage<>(List.of(sampleComment(1L), sampleComment(2L)), "next-cursor"));
 
         mockMvc.perform(get("/api/posts/{postId}/comments", 5))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id", is(1)));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.next", is("next-cursor")));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/{postId}/comments passes cursor and limit through")
+    void listCommentsForPostWithCursor() throws Exception {
+        given(commentService.getCommentsByPostId(5L, "abc", 10))
+                .willReturn(new CursorPage<>(List.of(sampleComment(3L)), null));
+
+        mockMvc.perform(get("/api/posts/{postId}/comments", 5).param("cursor", "abc").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id", is(3)));
     }
 
     @Test
@@ -105,6 +132,16 @@ class CommentControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @DisplayName("DELETE /api/posts/{postId}/comments returns how many comments were deleted")
+    void deleteCommentsOfPost() throws Exception {
+        given(commentService.deleteCommentsByPostId(5L)).willReturn(2500L);
+
+        mockMvc.perform(delete("/api/posts/{postId}/comments", 5))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(2500)));
+    }
+
     @Test
     @DisplayName("POST /api/comments with blank text returns 400")
     void createCommentValidationError() throws Exception {
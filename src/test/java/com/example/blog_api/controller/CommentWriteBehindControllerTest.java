@@ -0,0 +1,113 @@
+package com.example.blog_api.controller;
+
+import com.example.blog_api.dto.CommentDto;
+import com.example.blog_api.dto.CreateCommentRequest;
+import com.example.blog_api.dto.QueuedCommentDto;
+import com.example.blog_api.exception.ResourceNotFoundException;
+import com.example.blog_api.exception.ServiceUnavailableException;
+import com.example.blog_api.service.CommentWriteBehindService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = CommentWriteBehindController.class, properties = "blog.comments.write-behind.enabled=true")
+class CommentWriteBehindControllerTest {
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        CommentWriteBehindService writeBehindService() {
+            return Mockito.mock(CommentWriteBehindService.class);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CommentWriteBehindService writeBehindService;
+
+    @Test
+    @DisplayName("POST /api/comments/async returns 202 with the correlation id")
+    void enqueue() throws Exception {
+        given(writeBehindService.enqueue(any(CreateCommentRequest.class))).willReturn(QueuedCommentDto.queued("abc"));
+
+        mockMvc.perform(post("/api/comments/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("Nice post!"))))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/comments/async/abc"))
+                .andExpect(jsonPath("$.correlationId", is("abc")))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
+    }
+
+    @Test
+    @DisplayName("POST /api/comments/async returns 503 with Retry-After when the queue is full")
+    void enqueue_queueFull() throws Exception {
+        given(writeBehindService.enqueue(any(CreateCommentRequest.class)))
+                .willThrow(new ServiceUnavailableException("Comment queue is full, retry later", Duration.ofSeconds(2)));
+
+        mockMvc.perform(post("/api/comments/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("Busy"))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status", is(503)));
+    }
+
+    @Test
+    @DisplayName("POST /api/comments/async validates before queueing")
+    void enqueue_invalid() throws Exception {
+        mockMvc.perform(post("/api/comments/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request(" "))))
+                .andExpect(status().isBadRequest());
+        verify(writeBehindService, never()).enqueue(argThat(r -> r.getText().isBlank()));
+    }
+
+    @Test
+    @DisplayName("GET /api/comments/async/{id} returns the outcome, 404 once unknown")
+    void getStatus() throws Exception {
+        CommentDto comment = new CommentDto();
+        comment.setId(42L);
+        given(writeBehindService.getStatus("abc"))
+                .willReturn(new QueuedCommentDto("abc", QueuedCommentDto.Status.CREATED, comment, null));
+        given(writeBehindService.getStatus("gone"))
+                .willThrow(new ResourceNotFoundException("Queued comment gone not found"));
+
+        mockMvc.perform(get("/api/comments/async/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("CREATED")))
+                .andExpect(jsonPath("$.comment.id", is(42)));
+        mockMvc.perform(get("/api/comments/async/gone"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static CreateCommentRequest request(String text) {
+        CreateCommentRequest req = new CreateCommentRequest();
+        req.setPostId(1L);
+        req.setText(text);
+        return req;
+    }
+}
@@ -1,8 +1,18 @@
 package com.example.blog_api.controller;
 
+import com.example.blog_api.dto.BatchItemResult;
+import com.example.blog_api.dto.BatchResult;
 import com.example.blog_api.dto.CreatePostRequest;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.MultiGetResult;
 import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.dto.PostExportDto;
+import com.example.blog_api.dto.PostInclude;
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.dto.ResourceVersion;
+import com.example.blog_api.exception.ResourceNotFoundException;
 import com.example.blog_api.service.PostService;
+import com.example.blog_api.service.TrendingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,10 +23,14 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -34,6 +48,11 @@ class PostControllerTest {
         PostService postService() {
             return Mockito.mock(PostService.class);
         }
+
+        @Bean
+        TrendingService trendingService() {
+            return Mockito.mock(TrendingService.class);
+        }
     }
 
     @Autowired
@@ -45,6 +64,9 @@ class PostControllerTest {
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private TrendingService trendingService;
+
     private PostDto samplePostDto(Long id) {
         PostDto dto = new PostDto();
         dto.setId(id);
@@ -55,31 +77,173 @@ class PostControllerTest {
         return dto;
     }
 
+    private ResourceVersion sampleVersion(Long id) {
+        return new ResourceVersion("post-" + id + "-3-1", Instant.parse("2024-01-02T00:00:00Z"));
+    }
+
+    private PostSummaryDto sampleSummary(Long id) {
+        return new PostSummaryDto(id, "Sample Title " + id, "Alice",
+                Instant.parse("2024-01-01T00:00:00Z"), 3, null);
+    }
+
     @Test
-    @DisplayName("GET /api/posts returns 200 and list of posts")
+    @DisplayName("POST /api/posts/batch returns 200 with per-item results")
+    void createPostsBatch() throws Exception {
+        BatchResult<PostDto> result = new BatchResult<>(1, 1, List.of(
+                new BatchItemResult<>(0, samplePostDto(30L), null),
+                new BatchItemResult<>(1, null, List.of("title: Title must not be blank"))));
+        given(postService.createPosts(any())).willReturn(result);
+
+        CreatePostRequest ok = new CreatePostRequest();
+        ok.setTitle("T");
+        ok.setContent("C");
+        ok.setAuthorId(1L);
+        // the invalid item must reach the service rather than fail the whole request
+        CreatePostRequest invalid = new CreatePostRequest();
+
+        mockMvc.perform(post("/api/posts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(ok, invalid))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.items[0].data.id", is(30)))
+                .andExpect(jsonPath("$.items[1].errors[0]", is("title: Title must not be blank")));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/export streams one JSON object per line")
+    void exportPosts() throws Exception {
+        given(postService.exportPosts(any())).willAnswer(inv -> {
+            Consumer<PostExportDto> sink = inv.getArgument(0);
+            sink.accept(new PostExportDto(1L, "First", "a", 7L, "Alice", Instant.parse("2024-01-01T00:00:00Z"), null));
+            sink.accept(new PostExportDto(2L, "Second", "b", null, null, Instant.parse("2024-01-02T00:00:00Z"), null));
+            return 2L;
+        });
+
+        MvcResult started = mockMvc.perform(get("/api/posts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertThat(lines.length, is(2));
+        assertThat(objectMapper.readValue(lines[0], PostExportDto.class).getAuthorName(), is("Alice"));
+        assertThat(objectMapper.readValue(lines[1], PostExportDto.class).getId(), is(2L));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts returns 200 and a page of post summaries with next cursor")
     void listPosts() throws Exception {
-        given(postService.getAllPosts()).willReturn(List.of(samplePostDto(1L), samplePostDto(2L)));
+        given(postService.getPosts(null, 20, 0))
+                .willReturn(new CursorPage<>(List.of(sampleSummary(1L), sampleSummary(2L)), "abc"));
 
         mockMvc.perform(get("/api/posts"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id", is(1)))
-                .andExpect(jsonPath("$[0].title", containsString("Sample Title")));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.items[0].title", containsString("Sample Title")))
+                .andExpect(jsonPath("$.items[0].commentCount", is(3)))
+                .andExpect(jsonPath("$.items[0].content").doesNotExist())
+                .andExpect(jsonPath("$.next", is("abc")));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts passes cursor, limit and excerpt through")
+    void listPostsWithCursor() throws Exception {
+        given(postService.getPosts("abc", 5, 80)).willReturn(new CursorPage<>(List.of(sampleSummary(3L)), null));
+
+        mockMvc.perform(get("/api/posts").param("cursor", "abc").param("limit", "5").param("excerpt", "80"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/posts?ids= returns the found posts in request order and the missing ids")
+    void getPostsByIds() throws Exception {
+        given(postService.getPostsByIds(List.of(5L, 9L, 3L)))
+                .willReturn(new MultiGetResult<>(List.of(samplePostDto(5L), samplePostDto(3L)), List.of(9L)));
+
+        mockMvc.perform(get("/api/posts").param("ids", "5,9,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(5, 3)))
+                .andExpect(jsonPath("$.items[0].authorName", is("Alice")))
+                .andExpect(jsonPath("$.missing", contains(9)));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts?ids= with a non-numeric id returns 400")
+    void getPostsByIdsWithBadId() throws Exception {
+        mockMvc.perform(get("/api/posts").param("ids", "5,x"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
     @DisplayName("GET /api/posts/{id} returns 200 and the post")
     void getPostById() throws Exception {
+        given(postService.getPostVersion(10L)).willReturn(sampleVersion(10L));
         given(postService.getPostById(10L)).willReturn(samplePostDto(10L));
 
         mockMvc.perform(get("/api/posts/{id}", 10))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"post-10-3-1\""))
+                .andExpect(header().exists("Last-Modified"))
                 .andExpect(jsonPath("$.id", is(10)))
                 .andExpect(jsonPath("$.authorName", is("Alice")));
     }
 
+    @Test
+    @DisplayName("GET /api/posts/{id} with matching If-None-Match returns 304 without mapping the post")
+    void getPostByIdNotModified() throws Exception {
+        Mockito.clearInvocations(postService, trendingService);
+        given(postService.getPostVersion(10L)).willReturn(sampleVersion(10L));
+
+        mockMvc.perform(get("/api/posts/{id}", 10).header("If-None-Match", "\"post-10-3-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"post-10-3-1\""))
+                .andExpect(content().string(""));
+        Mockito.verify(postService, Mockito.never()).getPostById(10L);
+        // revalidations count as views too
+        Mockito.verify(trendingService).recordView(10L);
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/{id} with a stale If-None-Match returns 200")
+    void getPostByIdModified() throws Exception {
+        given(postService.getPostVersion(10L)).willReturn(sampleVersion(10L));
+        given(postService.getPostById(10L)).willReturn(samplePostDto(10L));
+
+        mockMvc.perform(get("/api/posts/{id}", 10).header("If-None-Match", "\"post-10-2-1\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(10)));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/{id}?include=author passes the parsed includes")
+    void getPostByIdWithInclude() throws Exception {
+        PostDto dto = samplePostDto(10L);
+        given(postService.getPostVersion(10L)).willReturn(sampleVersion(10L));
+        given(postService.getPostById(10L, EnumSet.of(PostInclude.AUTHOR))).willReturn(dto);
+
+        mockMvc.perform(get("/api/posts/{id}", 10).param("include", "author"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"post-10-3-1-author\""))
+                .andExpect(jsonPath("$.authorName", is("Alice")));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/{id}?include=unknown returns 400")
+    void getPostByIdWithUnknownInclude() throws Exception {
+        mockMvc.perform(get("/api/posts/{id}", 10).param("include", "author,likes"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("POST /api/posts returns 201, Location header and body")
     void createPost() throws Exception {
@@ -132,6 +296,25 @@ class PostControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @DisplayName("DELETE /api/posts?authorId= returns how many posts were deleted")
+    void deletePostsByAuthor() throws Exception {
+        given(postService.deletePostsByAuthorId(3L)).willReturn(12L);
+
+        mockMvc.perform(delete("/api/posts").param("authorId", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(12)));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/posts?authorId= for a missing user returns 404")
+    void deletePostsByMissingAuthor() throws Exception {
+        given(postService.deletePostsByAuthorId(99L)).willThrow(new ResourceNotFoundException("User", 99L));
+
+        mockMvc.perform(delete("/api/posts").param("authorId", "99"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("POST /api/posts with blank title returns 400")
     void createPostValidationError() throws Exception {
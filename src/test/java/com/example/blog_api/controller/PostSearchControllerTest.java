@@ -0,0 +1,61 @@
+package com.example.blog_api.controller;
+
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.service.PostSearchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PostSearchController.class)
+class PostSearchControllerTest {
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        PostSearchService postSearchService() {
+            return Mockito.mock(PostSearchService.class);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Test
+    @DisplayName("GET /api/posts/search returns 200 and ranked summaries")
+    void search() throws Exception {
+        PostSummaryDto hit = new PostSummaryDto(4L, "Spring tips", "Alice", Instant.parse("2024-01-01T00:00:00Z"), 2, null);
+        given(postSearchService.search("spring", "abc", 10)).willReturn(new CursorPage<>(List.of(hit), "def"));
+
+        mockMvc.perform(get("/api/posts/search").param("q", "spring").param("cursor", "abc").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Spring tips")))
+                .andExpect(jsonPath("$.next", is("def")));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/search without q returns 400")
+    void searchWithoutQuery() throws Exception {
+        mockMvc.perform(get("/api/posts/search"))
+                .andExpect(status().isBadRequest());
+    }
+}
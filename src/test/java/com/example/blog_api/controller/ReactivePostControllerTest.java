@@ -0,0 +1,107 @@
+package com.example.blog_api.controller;
+
+import com.example.blog_api.dto.CommentDto;
+import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.exception.ResourceNotFoundException;
+import com.example.blog_api.service.ReactivePostService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = ReactivePostController.class, properties = "blog.reactive.enabled=true")
+class ReactivePostControllerTest {
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        ReactivePostService reactivePostService() {
+            return Mockito.mock(ReactivePostService.class);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReactivePostService reactivePostService;
+
+    @Test
+    @DisplayName("GET /api/reactive/posts/{id} returns 200 and the post with its comments")
+    void getPost() throws Exception {
+        PostDto dto = new PostDto();
+        dto.setId(1L);
+        dto.setTitle("Reactive");
+        dto.setAuthorName("Alice");
+        dto.setCommentCount(1);
+        dto.setComments(List.of(comment(5L)));
+        given(reactivePostService.getPostById(1L)).willReturn(Mono.just(dto));
+
+        MvcResult started = mockMvc.perform(get("/api/reactive/posts/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.title", is("Reactive")))
+                .andExpect(jsonPath("$.comments", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/posts/{id} returns 404 when the post does not exist")
+    void getPostNotFound() throws Exception {
+        given(reactivePostService.getPostById(99L)).willReturn(Mono.error(new ResourceNotFoundException("Post", 99L)));
+
+        MvcResult started = mockMvc.perform(get("/api/reactive/posts/99"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/posts/{postId}/comments streams one comment per line")
+    void streamComments() throws Exception {
+        given(reactivePostService.streamCommentsByPostId(1L)).willReturn(Flux.just(comment(5L), comment(6L)));
+
+        MvcResult started = mockMvc.perform(get("/api/reactive/posts/1/comments"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertThat(lines.length, is(2));
+        assertThat(lines[1], containsString("\"id\":6"));
+    }
+
+    private CommentDto comment(Long id) {
+        CommentDto dto = new CommentDto();
+        dto.setId(id);
+        dto.setText("Comment " + id);
+        dto.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        return dto;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.blog_api.controller;
+
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.dto.TrendingDto;
+import com.example.blog_api.dto.TrendingPostDto;
+import com.example.blog_api.exception.BadRequestException;
+import com.example.blog_api.service.TrendingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TrendingController.class)
+class TrendingControllerTest {
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        TrendingService trendingService() {
+            return Mockito.mock(TrendingService.class);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Test
+    @DisplayName("GET /api/posts/trending defaults to the last hour by views")
+    void trendingDefaults() throws Exception {
+        PostSummaryDto post = new PostSummaryDto(7L, "Hot", "Alice", Instant.parse("2024-01-01T00:00:00Z"), 3, null);
+        given(trendingService.getTrending("1h", "views", 10)).willReturn(new TrendingDto("1h", "views",
+                Instant.parse("2024-01-01T12:00:00Z"), List.of(new TrendingPostDto(42, post))));
+
+        mockMvc.perform(get("/api/posts/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.window", is("1h")))
+                .andExpect(jsonPath("$.by", is("views")))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].score", is(42)))
+                .andExpect(jsonPath("$.items[0].post.id", is(7)));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/trending passes window, metric and limit through")
+    void trendingWithParams() throws Exception {
+        given(trendingService.getTrending("24h", "comments", 5))
+                .willReturn(new TrendingDto("24h", "comments", Instant.EPOCH, List.of()));
+
+        mockMvc.perform(get("/api/posts/trending").param("window", "24h").param("by", "comments").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.window", is("24h")))
+                .andExpect(jsonPath("$.items", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/trending with an unknown window returns 400")
+    void trendingUnknownWindow() throws Exception {
+        given(trendingService.getTrending("7d", "views", 10)).willThrow(new BadRequestException("Unknown window '7d'"));
+
+        mockMvc.perform(get("/api/posts/trending").param("window", "7d"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Unknown window '7d'")));
+    }
+}
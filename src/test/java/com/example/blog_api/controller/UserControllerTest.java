@@ -1,7 +1,13 @@
 package com.example.blog_api.controller;
 
 import com.example.blog_api.dto.CreateUserRequest;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.MultiGetResult;
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.dto.ResourceVersion;
 import com.example.blog_api.dto.UserDto;
+import com.example.blog_api.exception.ResourceNotFoundException;
+import com.example.blog_api.service.PostService;
 import com.example.blog_api.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -34,6 +40,11 @@ class UserControllerTest {
         UserService userService() {
             return Mockito.mock(UserService.class);
         }
+
+        @Bean
+        PostService postService() {
+            return Mockito.mock(PostService.class);
+        }
     }
 
     @Autowired
@@ -45,6 +56,9 @@ class UserControllerTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PostService postService;
+
     private UserDto sampleUser(Long id) {
         UserDto dto = new UserDto();
         dto.setId(id);
@@ -67,18 +81,41 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[0].email", containsString("@example.com")));
     }
 
+    @Test
+    @DisplayName("GET /api/users?ids= returns the found users in request order and the missing ids")
+    void getUsersByIds() throws Exception {
+        given(userService.getUsersByIds(List.of(2L, 7L, 1L)))
+                .willReturn(new MultiGetResult<>(List.of(sampleUser(2L), sampleUser(1L)), List.of(7L)));
+
+        mockMvc.perform(get("/api/users").param("ids", "2,7,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(2, 1)))
+                .andExpect(jsonPath("$.missing", contains(7)));
+    }
+
     @Test
     @DisplayName("GET /api/users/{id} returns 200")
     void getUser() throws Exception {
+        given(userService.getUserVersion(10L)).willReturn(new ResourceVersion("user-10-0", Instant.parse("2024-01-01T00:00:00Z")));
         given(userService.getUserById(10L)).willReturn(sampleUser(10L));
 
         mockMvc.perform(get("/api/users/{id}", 10))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"user-10-0\""))
                 .andExpect(jsonPath("$.id", is(10)))
                 .andExpect(jsonPath("$.name", is("User 10")));
     }
 
+    @Test
+    @DisplayName("GET /api/users/{id} with If-Modified-Since at Last-Modified returns 304")
+    void getUserNotModifiedSince() throws Exception {
+        given(userService.getUserVersion(11L)).willReturn(new ResourceVersion("user-11-0", Instant.parse("2024-01-01T00:00:00Z")));
+
+        mockMvc.perform(get("/api/users/{id}", 11).header("If-Modified-Since", "Mon, 01 Jan 2024 00:00:00 GMT"))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     @DisplayName("POST /api/users returns 201, Location header and body")
     void createUser() throws Exception {
@@ -141,5 +178,50 @@ class UserControllerTest {
                         .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isBadRequest());
     }
-}
 
+    @Test
+    @DisplayName("GET /api/users/{id}/posts returns a page of the author's posts")
+    void listPostsByAuthor() throws Exception {
+        PostSummaryDto post = new PostSummaryDto(7L, "Hello", "User 1", Instant.parse("2024-01-02T00:00:00Z"), 2, null);
+        given(postService.getPostsByAuthorId(1L, "abc", 5, 0)).willReturn(new CursorPage<>(List.of(post), "next-cursor"));
+
+        mockMvc.perform(get("/api/users/{id}/posts", 1).param("cursor", "abc").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(7)))
+                .andExpect(jsonPath("$.items[0].authorName", is("User 1")))
+                .andExpect(jsonPath("$.next", is("next-cursor")));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{id}/posts for a missing user returns 404")
+    void listPostsByMissingAuthor() throws Exception {
+        given(postService.getPostsByAuthorId(99L, null, 20, 0)).willThrow(new ResourceNotFoundException("User", 99L));
+
+        mockMvc.perform(get("/api/users/{id}/posts", 99))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/users/by-email resolves the id, then returns the user")
+    void getUserByEmail() throws Exception {
+        given(userService.getUserIdByEmail("user3@example.com")).willReturn(3L);
+        given(userService.getUserById(3L)).willReturn(sampleUser(3L));
+
+        mockMvc.perform(get("/api/users/by-email").param("email", "user3@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(3)))
+                .andExpect(jsonPath("$.email", is("user3@example.com")));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/by-email for an unknown email returns 404")
+    void getUserByUnknownEmail() throws Exception {
+        given(userService.getUserIdByEmail("nobody@example.com"))
+                .willThrow(new ResourceNotFoundException("User with email nobody@example.com not found"));
+
+        mockMvc.perform(get("/api/users/by-email").param("email", "nobody@example.com"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("User with email nobody@example.com not found")));
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.blog_api.datasource;
+
+import com.example.blog_api.config.ReplicaProperties.Selection;
+import com.example.blog_api.config.ReplicaRoutingConfig;
+import com.example.blog_api.config.SecondLevelCacheConfig;
+import com.example.blog_api.config.SecondLevelCacheProperties;
+import com.example.blog_api.entity.Post;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/*
+ * A primary and one replica that stopped applying changes after a snapshot, both within the lag
+ * limit as far as routing knows. Whatever the replica returns must not end up in the shared caches.
+ */
+public class ReplicaReadJpaDialectTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private CacheManager cacheManager;
+    private LocalContainerEntityManagerFactoryBean factory;
+    private EntityManagerFactory emf;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        Replica lagging = new Replica("replica", replica);
+        lagging.setLag(Duration.ZERO);
+        cacheManager = new SecondLevelCacheConfig().hibernateCacheManager(new SecondLevelCacheProperties());
+
+        factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(ReplicaRoutingDataSource.routed(primary, List.of(lagging), Selection.ROUND_ROBIN, Duration.ofSeconds(5)));
+        factory.setPackagesToScan(Post.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        Map<String, Object> properties = new HashMap<>(Map.of(
+                AvailableSettings.DIALECT, H2Dialect.class.getName(),
+                // schema tooling runs outside a transaction, so on the primary only
+                AvailableSettings.HBM2DDL_AUTO, "create",
+                AvailableSettings.USE_SECOND_LEVEL_CACHE, true,
+                AvailableSettings.USE_QUERY_CACHE, true,
+                ConfigSettings.MISSING_CACHE_STRATEGY, "fail"));
+        new SecondLevelCacheConfig().secondLevelCacheCustomizer(cacheManager).customize(properties);
+        factory.setJpaPropertyMap(properties);
+        ReplicaRoutingConfig.replicaReadJpaDialect().postProcessBeforeInitialization(factory, "entityManagerFactory");
+        factory.afterPropertiesSet();
+        emf = factory.getObject();
+        // set by the Liquibase changelog; the entity never writes it
+        new JdbcTemplate(primary).execute("ALTER TABLE posts ALTER COLUMN comment_count SET DEFAULT 0");
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.destroy();
+        cacheManager.close();
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void readOnlyLoad_fromALaggingReplica_shouldNotBeCached() {
+        Long id = save("before");
+        snapshotToReplica();
+        rename(id, "after");
+        // what CommentCounter does after its native update
+        emf.getCache().evict(Post.class, id);
+
+        String fromReplica = inTransaction(true, em -> em.find(Post.class, id).getTitle());
+
+        assertThat(fromReplica).isEqualTo("before");
+        assertThat(emf.getCache().contains(Post.class, id)).isFalse();
+        String fromPrimary = inTransaction(false, em -> em.find(Post.class, id).getTitle());
+        assertThat(fromPrimary).isEqualTo("after");
+        assertThat(emf.getCache().contains(Post.class, id)).isTrue();
+    }
+
+    @Test
+    void readOnlyQuery_onALaggingReplica_shouldNotBeCached() {
+        Long id = save("before");
+        snapshotToReplica();
+        rename(id, "after");
+
+        String fromReplica = inTransaction(true, em -> title(em, id));
+
+        assertThat(fromReplica).isEqualTo("before");
+        String fromPrimary = inTransaction(false, em -> title(em, id));
+        assertThat(fromPrimary).isEqualTo("after");
+    }
+
+    @Test
+    void readOnlyTransactions_shouldStillReadWhatIsCached() {
+        Long id = save("before");
+        snapshotToReplica();
+        rename(id, "after");
+        inTransaction(false, em -> em.find(Post.class, id));
+
+        String cached = inTransaction(true, em -> em.find(Post.class, id).getTitle());
+
+        assertThat(cached).isEqualTo("after");
+    }
+
+    private static String title(EntityManager em, Long id) {
+        return em.createQuery("SELECT p.title FROM Post p WHERE p.id = :id", String.class)
+                .setParameter("id", id)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getSingleResult();
+    }
+
+    private Long save(String title) {
+        return inTransaction(false, em -> {
+            Post post = Post.builder().title(title).content("text").build();
+            em.persist(post);
+            return post.getId();
+        });
+    }
+
+    private void rename(Long id, String title) {
+        inTransaction(false, em -> {
+            em.find(Post.class, id).setTitle(title);
+            return null;
+        });
+    }
+
+    private <T> T inTransaction(boolean readOnly, Function<EntityManager, T> work) {
+        TransactionTemplate tx = new TransactionTemplate(new JpaTransactionManager(emf));
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> work.apply(EntityManagerFactoryUtils.getTransactionalEntityManager(emf)));
+    }
+
+    /* the replica receives the primary's state as of now and nothing after it */
+    private void snapshotToReplica() {
+        JdbcTemplate target = new JdbcTemplate(replica);
+        new JdbcTemplate(primary).queryForList("SCRIPT NOSETTINGS", String.class).stream()
+                .filter(statement -> !statement.startsWith("CREATE USER"))
+                .forEach(target::execute);
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID()
+                + ";DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE");
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(4);
+        return pool;
+    }
+}
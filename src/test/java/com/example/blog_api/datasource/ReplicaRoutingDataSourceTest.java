@@ -0,0 +1,234 @@
+package com.example.blog_api.datasource;
+
+import com.example.blog_api.config.ReplicaProperties.Selection;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Routing across separate in-memory H2 databases: a primary and two "replicas" that each know
+ * their own name, so every query reveals where it ran. Replication is simulated by copying the
+ * heartbeat row.
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private HikariDataSource primary;
+    private Replica replicaA;
+    private Replica replicaB;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replicaA = new Replica("replica-a", database("replica-a"));
+        replicaB = new Replica("replica-b", database("replica-b"));
+        replicaA.setLag(Duration.ZERO);
+        replicaB.setLag(Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void readOnlyTransactions_shouldGoToReplicas_andEverythingElseToPrimary() {
+        DataSource routed = routed(Selection.ROUND_ROBIN);
+
+        assertThat(whereRead(routed, true)).startsWith("replica-");
+        assertThat(whereRead(routed, false)).isEqualTo("primary");
+        // no transaction at all
+        assertThat(new JdbcTemplate(routed).queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+    }
+
+    /* the app's transaction manager: it opens the connection before the read-only flag is published */
+    @Test
+    void jpaTransactions_shouldBeRoutedLikeJdbcOnes() {
+        LocalContainerEntityManagerFactoryBean factory = entityManagerFactory(routed(Selection.ROUND_ROBIN));
+        try {
+            EntityManagerFactory emf = factory.getObject();
+            assertThat(whereRead(emf, true)).startsWith("replica-");
+            assertThat(whereRead(emf, false)).isEqualTo("primary");
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    @Test
+    void roundRobin_shouldAlternateBetweenReplicas() {
+        DataSource routed = routed(Selection.ROUND_ROBIN);
+
+        List<String> targets = List.of(whereRead(routed, true), whereRead(routed, true),
+                whereRead(routed, true), whereRead(routed, true));
+
+        assertThat(targets).containsOnly("replica-a", "replica-b");
+        assertThat(targets.get(0)).isNotEqualTo(targets.get(1));
+        assertThat(targets.get(1)).isNotEqualTo(targets.get(2));
+    }
+
+    @Test
+    void leastLoaded_shouldPickTheReplicaWithFewerConnectionsInUse() throws Exception {
+        DataSource routed = routed(Selection.LEAST_LOADED);
+
+        try (Connection busy = replicaA.getPool().getConnection()) {
+            assertThat(whereRead(routed, true)).isEqualTo("replica-b");
+            assertThat(whereRead(routed, true)).isEqualTo("replica-b");
+        }
+        try (Connection busy = replicaB.getPool().getConnection()) {
+            assertThat(whereRead(routed, true)).isEqualTo("replica-a");
+        }
+    }
+
+    @Test
+    void staleReplicas_shouldBeSkipped_andAllStaleFallsBackToPrimary() {
+        DataSource routed = routed(Selection.ROUND_ROBIN);
+
+        replicaA.setLag(MAX_LAG.plusSeconds(1));
+        assertThat(whereRead(routed, true)).isEqualTo("replica-b");
+        assertThat(whereRead(routed, true)).isEqualTo("replica-b");
+
+        replicaB.setLag(null);
+        assertThat(whereRead(routed, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void lagMonitor_shouldMeasureHowOldTheReplicatedHeartbeatIs() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, List.of(replicaA, replicaB), MAX_LAG, clock);
+        replicaA.setLag(null);
+        replicaB.setLag(null);
+
+        monitor.beat();
+        replicate(replicaA);
+        clock.advance(Duration.ofSeconds(2));
+        monitor.beat();
+        // a caught up 2s ago; b never received a heartbeat
+        assertThat(replicaA.getLag()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(replicaB.isWithin(MAX_LAG)).isFalse();
+        assertThat(whereRead(routed(Selection.ROUND_ROBIN), true)).isEqualTo("replica-a");
+
+        clock.advance(Duration.ofSeconds(10));
+        monitor.beat();
+        assertThat(replicaA.isWithin(MAX_LAG)).isFalse();
+        assertThat(whereRead(routed(Selection.ROUND_ROBIN), true)).isEqualTo("primary");
+
+        replicate(replicaA);
+        replicate(replicaB);
+        monitor.beat();
+        assertThat(replicaA.getLag()).isEqualTo(Duration.ZERO);
+        assertThat(replicaB.getLag()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void lagMonitor_shouldTreatAnUnreachableReplicaAsUnknown() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, List.of(replicaA), MAX_LAG, Clock.systemUTC());
+        replicaA.getPool().close();
+
+        monitor.beat();
+
+        assertThat(replicaA.getLag()).isNull();
+    }
+
+    private DataSource routed(Selection selection) {
+        return ReplicaRoutingDataSource.routed(primary, List.of(replicaA, replicaB), selection, MAX_LAG);
+    }
+
+    /* runs a query in a transaction the way the services do and reports which database answered */
+    private static String whereRead(DataSource routed, boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(routed));
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(routed).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static String whereRead(EntityManagerFactory emf, boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(new JpaTransactionManager(emf));
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> (String) EntityManagerFactoryUtils.getTransactionalEntityManager(emf)
+                .createNativeQuery("SELECT name FROM node").getSingleResult());
+    }
+
+    /* no entities; the native query is all that is needed to see where a transaction ran */
+    private static LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource routed) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(routed);
+        factory.setPackagesToScan(ReplicaRoutingDataSourceTest.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(AvailableSettings.DIALECT, H2Dialect.class.getName()));
+        factory.afterPropertiesSet();
+        return factory;
+    }
+
+    private void replicate(Replica replica) {
+        Long beatAt = new JdbcTemplate(primary).queryForObject(ReplicaLagMonitor.READ, Long.class);
+        new JdbcTemplate(replica.getPool()).update(ReplicaLagMonitor.WRITE, beatAt);
+    }
+
+    private HikariDataSource database(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(4);
+        pools.add(pool);
+        JdbcTemplate jdbc = new JdbcTemplate(pool);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(32))");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        jdbc.execute("CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_at_ms BIGINT NOT NULL)");
+        jdbc.update("INSERT INTO replication_heartbeat (id, beat_at_ms) VALUES (1, 0)");
+        return pool;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
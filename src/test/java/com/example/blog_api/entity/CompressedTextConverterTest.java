@@ -0,0 +1,69 @@
+package com.example.blog_api.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void longText_shouldBeDeflatedAndReadBack() {
+        String text = "Ünïcode prose with 日本語 and repeated words, repeated words. ".repeat(200);
+
+        byte[] stored = converter.convertToDatabaseColumn(text);
+
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.DEFLATE);
+        assertThat(stored.length).isLessThan(text.getBytes(StandardCharsets.UTF_8).length / 4);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(text);
+    }
+
+    @Test
+    void shortText_shouldBeStoredPlain() {
+        byte[] stored = converter.convertToDatabaseColumn("A short post.");
+
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.PLAIN);
+        assertThat(new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8)).isEqualTo("A short post.");
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo("A short post.");
+    }
+
+    @Test
+    void textDeflateDoesNotShrink_shouldBeStoredPlain() {
+        String text = "x".repeat(4000);
+
+        // level 0 only wraps the input in stored blocks, so the result is always larger
+        byte[] stored = CompressedTextConverter.encode(text, Deflater.NO_COMPRESSION);
+
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.PLAIN);
+        assertThat(stored).hasSize(4001);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(text);
+    }
+
+    @Test
+    void emptyAndNull_shouldRoundTrip() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(""))).isEmpty();
+    }
+
+    @Test
+    void unknownCodec_shouldFail() {
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(new byte[]{7, 'x'}))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("codec 7");
+    }
+
+    @Test
+    void preview_shouldKeepTheFirstThousandCodePoints() {
+        String text = "😀".repeat(Post.PREVIEW_LENGTH + 10);
+
+        String preview = Post.preview(text);
+
+        assertThat(preview.codePointCount(0, preview.length())).isEqualTo(Post.PREVIEW_LENGTH);
+        assertThat(Post.preview("short")).isEqualTo("short");
+    }
+}
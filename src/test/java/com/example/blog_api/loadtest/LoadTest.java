@@ -0,0 +1,216 @@
+package com.example.blog_api.loadtest;
+
+import com.example.blog_api.search.PostSearchIndex;
+import com.example.blog_api.service.CommentService;
+import com.example.blog_api.service.PostService;
+import com.example.blog_api.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * End-to-end load test: boots the application on an in-memory H2 database in MySQL mode
+ * (profile "loadtest"), generates {@code loadtest.users/posts/comments} rows on top of the
+ * Liquibase seed data, then drives a weighted mix of reads and writes over HTTP against every
+ * controller and reports p50/p99/p999 latencies per operation.
+ * <p>
+ * Run with {@code mvn -Ploadtest test}; results are saved under {@code target/loadtest}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class LoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private PostSearchIndex searchIndex;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /* comments created by this run; the only ones delete-comment removes, so reads never hit deleted rows */
+    private final Queue<Long> createdComments = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void mixedWorkload() throws Exception {
+        LoadTestProperties props = Binder.get(environment).bindOrCreate("loadtest", LoadTestProperties.class);
+        LoadTestData data = new LoadTestData();
+        long seedStart = System.nanoTime();
+        data.generate(props, userService, postService, commentService);
+        System.out.printf("Generated %d users, %d posts, %d comments in %d ms%n", data.userIds.size(), data.postIds.size(),
+                data.commentIds.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+        awaitSearchIndex();
+
+        Map<String, Operation> operations = operations(data);
+        assertThat(operations.keySet()).containsAll(props.getMix().keySet());
+        List<String> names = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, Integer> e : props.getMix().entrySet()) {
+            if (e.getValue() <= 0) continue;
+            total += e.getValue();
+            names.add(e.getKey());
+            cumulative.add(total);
+        }
+        int weights = total;
+
+        LoadTestReport report = new LoadTestReport(names);
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean stopped = new AtomicBoolean();
+        ExecutorService clients = Executors.newFixedThreadPool(props.getClients());
+        for (int c = 0; c < props.getClients(); c++) {
+            clients.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (!stopped.get()) {
+                    int r = random.nextInt(weights);
+                    int i = 0;
+                    while (cumulative.get(i) <= r) i++;
+                    String name = names.get(i);
+                    Operation op = operations.get(name);
+                    HttpRequest request = op.request(random);
+                    if (request == null) continue;
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        // 409: two clients updated the same post at once, which the API reports by design
+                        ok = response.statusCode() < 400 || response.statusCode() == 409;
+                        if (ok) op.completed(response);
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    if (measuring.get() && !stopped.get()) report.record(name, System.nanoTime() - start, ok);
+                }
+            });
+        }
+        Thread.sleep(props.getWarmup().toMillis());
+        measuring.set(true);
+        long measureStart = System.nanoTime();
+        Thread.sleep(props.getDuration().toMillis());
+        stopped.set(true);
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+        clients.shutdown();
+        assertThat(clients.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        report.print(System.out, seconds);
+        Path saved = report.save(props, seconds);
+        System.out.println("Load test results saved to " + saved.toAbsolutePath());
+        assertThat(report.errorCount()).isZero();
+    }
+
+    private Map<String, Operation> operations(LoadTestData data) {
+        Map<String, Operation> ops = new LinkedHashMap<>();
+        ops.put("list-posts", random -> get("/api/posts?limit=20"));
+        ops.put("get-post", random -> get("/api/posts/" + pick(random, data.postIds)));
+        ops.put("get-post-comments", random -> get("/api/posts/" + pick(random, data.postIds) + "/comments?limit=50"));
+        ops.put("get-comment", random -> get("/api/comments/" + pick(random, data.commentIds)));
+        ops.put("get-user", random -> get("/api/users/" + pick(random, data.userIds)));
+        ops.put("search", random -> get("/api/posts/search?q=" + LoadTestData.sentence(random, 2).replace(' ', '+')));
+        ops.put("create-post", random -> send("POST", "/api/posts", Map.of(
+                "title", LoadTestData.sentence(random, 6),
+                "content", LoadTestData.sentence(random, 120),
+                "authorId", pick(random, data.userIds))));
+        ops.put("update-post", random -> send("PUT", "/api/posts/" + pick(random, data.postIds), Map.of(
+                "title", LoadTestData.sentence(random, 6),
+                "content", LoadTestData.sentence(random, 120),
+                "authorId", pick(random, data.userIds))));
+        ops.put("create-comment", new Operation() {
+            @Override
+            public HttpRequest request(ThreadLocalRandom random) {
+                return send("POST", "/api/comments", Map.of(
+                        "postId", pick(random, data.postIds),
+                        "text", LoadTestData.sentence(random, 25)));
+            }
+
+            @Override
+            public void completed(HttpResponse<String> response) throws Exception {
+                createdComments.add(objectMapper.readTree(response.body()).get("id").asLong());
+            }
+        });
+        ops.put("delete-comment", random -> {
+            Long id = createdComments.poll();
+            return id == null ? null : HttpRequest.newBuilder(uri("/api/comments/" + id)).DELETE().build();
+        });
+        return ops;
+    }
+
+    /* the index is rebuilt asynchronously at startup and then follows the generated posts */
+    private void awaitSearchIndex() throws InterruptedException {
+        for (int i = 0; i < 600 && !searchIndex.isReady(); i++) Thread.sleep(100);
+        assertThat(searchIndex.isReady()).isTrue();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, Map<String, Object> body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static Long pick(ThreadLocalRandom random, List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private interface Operation {
+        /* null when the operation has nothing to do right now; the client then picks another one */
+        HttpRequest request(ThreadLocalRandom random);
+
+        default void completed(HttpResponse<String> response) throws Exception {
+        }
+    }
+}
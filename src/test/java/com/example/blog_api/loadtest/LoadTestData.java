@@ -0,0 +1,89 @@
+package com.example.blog_api.loadtest;
+
+import com.example.blog_api.dto.BatchItemResult;
+import com.example.blog_api.dto.BatchResult;
+import com.example.blog_api.dto.CreateCommentRequest;
+import com.example.blog_api.dto.CreatePostRequest;
+import com.example.blog_api.dto.CreateUserRequest;
+import com.example.blog_api.service.CommentService;
+import com.example.blog_api.service.PostService;
+import com.example.blog_api.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Generates the data volumes of a run through the batch create services, so ids, comment counts
+ * and the search index end up exactly as they would in production.
+ */
+class LoadTestData {
+
+    static final String[] WORDS = {"spring", "java", "mysql", "cache", "index", "latency", "thread",
+            "batch", "query", "stream", "search", "blog", "review", "release", "design", "test"};
+
+    private static final int CHUNK = 1_000;
+
+    final List<Long> userIds = new ArrayList<>();
+    final List<Long> postIds = new ArrayList<>();
+    final List<Long> commentIds = new ArrayList<>();
+
+    /* fixed seed: two runs with the same settings read and write the same shapes */
+    private final Random random = new Random(42);
+
+    void generate(LoadTestProperties props, UserService users, PostService posts, CommentService comments) {
+        userIds.addAll(create(props.getUsers(), i -> {
+            CreateUserRequest r = new CreateUserRequest();
+            r.setName("Load User " + i);
+            r.setEmail("load-user-" + i + "@example.com");
+            return r;
+        }, chunk -> ids(users.createUsers(chunk), dto -> dto.getId())));
+        postIds.addAll(create(props.getPosts(), i -> {
+            CreatePostRequest r = new CreatePostRequest();
+            r.setTitle(sentence(random, 6));
+            r.setContent(sentence(random, 120));
+            r.setAuthorId(pick(userIds));
+            return r;
+        }, chunk -> ids(posts.createPosts(chunk), dto -> dto.getId())));
+        commentIds.addAll(create(props.getComments(), i -> {
+            CreateCommentRequest r = new CreateCommentRequest();
+            r.setPostId(pick(postIds));
+            r.setText(sentence(random, 25));
+            return r;
+        }, chunk -> ids(comments.createComments(chunk), dto -> dto.getId())));
+    }
+
+    static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private Long pick(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static <R> List<Long> create(int count, IntFunction<R> factory, Function<List<R>, List<Long>> save) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += CHUNK) {
+            List<R> chunk = new ArrayList<>(CHUNK);
+            for (int i = from; i < Math.min(count, from + CHUNK); i++) chunk.add(factory.apply(i));
+            ids.addAll(save.apply(chunk));
+        }
+        return ids;
+    }
+
+    private static <T> List<Long> ids(BatchResult<T> result, Function<T, Long> id) {
+        if (result.getFailed() > 0) {
+            throw new IllegalStateException("Generating load-test data failed: " + result.getItems().stream()
+                    .map(BatchItemResult::getErrors).filter(Objects::nonNull).findFirst().orElse(null));
+        }
+        return result.getItems().stream().map(item -> id.apply(item.getData())).toList();
+    }
+}
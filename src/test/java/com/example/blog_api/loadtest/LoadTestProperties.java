@@ -0,0 +1,30 @@
+package com.example.blog_api.loadtest;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load-test run, bound from {@code loadtest.*} (application-loadtest.yaml,
+ * overridable with -Dloadtest.posts=100000 and the like).
+ */
+@Data
+public class LoadTestProperties {
+
+    /* rows generated on top of the Liquibase seed data */
+    private int users = 1_000;
+    private int posts = 10_000;
+    private int comments = 50_000;
+
+    /* concurrent closed-loop clients, each sending its next request once the previous one completes */
+    private int clients = 32;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(30);
+
+    /* relative weight of each operation in the mix; 0 disables it */
+    private Map<String, Integer> mix = new LinkedHashMap<>();
+
+    private String resultsDir = "target/loadtest";
+}
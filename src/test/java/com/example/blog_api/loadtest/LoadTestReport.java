@@ -0,0 +1,118 @@
+package com.example.blog_api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-operation latency histograms (microseconds, 3 significant digits) and error counts.
+ * <p>
+ * A run is saved as {@code <resultsDir>/<timestamp>/summary.json}, with the same fields for
+ * every run so runs can be diffed or charted, plus one HdrHistogram percentile distribution
+ * ({@code <operation>.hgrm}) per operation for plotting.
+ */
+class LoadTestReport {
+
+    private static final long MAX_LATENCY_US = TimeUnit.MINUTES.toMicros(1);
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final Map<String, Histogram> latencies = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+    private final Histogram all = new ConcurrentHistogram(MAX_LATENCY_US, 3);
+
+    LoadTestReport(List<String> operations) {
+        for (String op : operations) {
+            latencies.put(op, new ConcurrentHistogram(MAX_LATENCY_US, 3));
+            errors.put(op, new AtomicLong());
+        }
+    }
+
+    void record(String op, long nanos, boolean ok) {
+        if (!ok) {
+            errors.get(op).incrementAndGet();
+            return;
+        }
+        long us = Math.min(MAX_LATENCY_US, TimeUnit.NANOSECONDS.toMicros(nanos));
+        latencies.get(op).recordValue(us);
+        all.recordValue(us);
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    Map<String, Object> summary(LoadTestProperties props, double seconds) {
+        Map<String, Object> ops = new LinkedHashMap<>();
+        latencies.forEach((op, h) -> ops.put(op, stats(h, errors.get(op).get(), seconds)));
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("finishedAt", Instant.now().toString());
+        summary.put("javaVersion", System.getProperty("java.version"));
+        summary.put("settings", props);
+        summary.put("total", stats(all, errorCount(), seconds));
+        summary.put("operations", ops);
+        return summary;
+    }
+
+    Path save(LoadTestProperties props, double seconds) throws IOException {
+        Path dir = Path.of(props.getResultsDir(), RUN_ID.format(Instant.now()));
+        Files.createDirectories(dir);
+        new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(dir.resolve("summary.json").toFile(), summary(props, seconds));
+        for (Map.Entry<String, Histogram> e : latencies.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(e.getKey() + ".hgrm")))) {
+                // values recorded in microseconds, printed in milliseconds
+                e.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        return dir;
+    }
+
+    void print(PrintStream out, double seconds) {
+        out.printf("%-16s %9s %9s %9s %9s %9s %9s %7s%n", "operation", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        latencies.forEach((op, h) -> line(out, op, h, errors.get(op).get(), seconds));
+        line(out, "total", all, errorCount(), seconds);
+    }
+
+    private static void line(PrintStream out, String op, Histogram h, long errors, double seconds) {
+        out.printf("%-16s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n", op, h.getTotalCount(), h.getTotalCount() / seconds,
+                ms(h, 50), ms(h, 99), ms(h, 99.9), h.getMaxValue() / 1000.0, errors);
+    }
+
+    private static Map<String, Object> stats(Histogram h, long errors, double seconds) {
+        Map<String, Object> s = new LinkedHashMap<>();
+        s.put("count", h.getTotalCount());
+        s.put("errors", errors);
+        s.put("throughputPerSec", round(h.getTotalCount() / seconds));
+        s.put("meanMs", round(h.getMean() / 1000.0));
+        s.put("p50Ms", ms(h, 50));
+        s.put("p99Ms", ms(h, 99));
+        s.put("p999Ms", ms(h, 99.9));
+        s.put("maxMs", h.getMaxValue() / 1000.0);
+        return s;
+    }
+
+    private static double ms(Histogram h, double percentile) {
+        return h.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
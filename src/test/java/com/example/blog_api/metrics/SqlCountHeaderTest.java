@@ -0,0 +1,89 @@
+package com.example.blog_api.metrics;
+
+import com.example.blog_api.config.MetricsConfig;
+import com.example.blog_api.controller.UserController;
+import com.example.blog_api.dto.ResourceVersion;
+import com.example.blog_api.dto.UserDto;
+import com.example.blog_api.exception.ResourceNotFoundException;
+import com.example.blog_api.service.PostService;
+import com.example.blog_api.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.Instant;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/* X-SQL-Count through the real filter and advice registration, on a body and on an error */
+@WebMvcTest(UserController.class)
+@Import({MetricsConfig.class, SqlCountHeaderTest.MockConfig.class})
+class SqlCountHeaderTest {
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        UserService userService() {
+            UserService userService = Mockito.mock(UserService.class);
+            UserDto user = new UserDto();
+            user.setId(1L);
+            user.setName("Alice");
+            given(userService.getUserVersion(1L)).willReturn(new ResourceVersion("user-1-0", Instant.parse("2024-01-01T00:00:00Z")));
+            given(userService.getUserById(1L)).willReturn(user);
+            willThrow(new ResourceNotFoundException("User", 999L)).given(userService).getUserVersion(999L);
+            return userService;
+        }
+
+        @Bean
+        PostService postService() {
+            return Mockito.mock(PostService.class);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    /* each nested class has its own context; the MockMvc has to come from that one */
+    private static void expectHeader(MockMvc mockMvc, ResultMatcher header) throws Exception {
+        mockMvc.perform(get("/api/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header);
+        mockMvc.perform(get("/api/users/999"))
+                .andExpect(status().isNotFound())
+                .andExpect(header);
+    }
+
+    @Nested
+    class Enabled {
+
+        @Test
+        void responses_shouldCarryTheHeader(@Autowired MockMvc mockMvc) throws Exception {
+            expectHeader(mockMvc, header().string(SqlStatementMetricsFilter.HEADER, "0"));
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "blog.metrics.sql-count-header=false")
+    class Disabled {
+
+        @Test
+        void responses_shouldNotCarryTheHeader(@Autowired MockMvc mockMvc) throws Exception {
+            expectHeader(mockMvc, header().doesNotExist(SqlStatementMetricsFilter.HEADER));
+        }
+    }
+}
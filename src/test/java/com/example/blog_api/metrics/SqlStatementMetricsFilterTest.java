@@ -0,0 +1,71 @@
+package com.example.blog_api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SqlStatementMetricsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlStatementCounter counter = new SqlStatementCounter(null);
+
+    @Test
+    void filter_shouldCountStatementsOfTheRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new SqlStatementMetricsFilter(registry, true).doFilter(request, response, chain(3));
+
+        assertThat(response.getHeader(SqlStatementMetricsFilter.HEADER)).isEqualTo("3");
+        DistributionSummary summary = registry.get("blog.sql.statements")
+                .tag("method", "GET").tag("uri", "/api/posts/{id}").summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(3);
+        assertThat(SqlStatementCounter.current()).isEqualTo(-1);
+    }
+
+    @Test
+    void filter_shouldOmitHeaderWhenDisabled() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new SqlStatementMetricsFilter(registry, false)
+                .doFilter(new MockHttpServletRequest("GET", "/api/posts/1"), response, chain(2));
+
+        assertThat(response.getHeader(SqlStatementMetricsFilter.HEADER)).isNull();
+        assertThat(registry.get("blog.sql.statements").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void counter_shouldIgnoreStatementsOutsideARequest() {
+        assertThat(counter.inspect("select 1")).isEqualTo("select 1");
+        assertThat(SqlStatementCounter.current()).isEqualTo(-1);
+    }
+
+    @Test
+    void counter_shouldPassStatementsToTheWrappedInspector() {
+        SqlStatementCounter wrapping = new SqlStatementCounter(sql -> sql + " /* hint */");
+
+        assertThat(wrapping.inspect("select 1")).isEqualTo("select 1 /* hint */");
+    }
+
+    /* runs the given number of statements, like a handler whose route is /api/posts/{id} */
+    private MockFilterChain chain(int statements) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/posts/{id}");
+                for (int i = 0; i < statements; i++) counter.inspect("select " + i);
+            }
+        });
+    }
+}
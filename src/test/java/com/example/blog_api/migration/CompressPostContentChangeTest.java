@@ -0,0 +1,103 @@
+package com.example.blog_api.migration;
+
+import com.example.blog_api.entity.CompressedTextConverter;
+import com.example.blog_api.entity.Post;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/*
+ * The changelog-010 backfill on H2, against the posts columns as they are between the
+ * "columns" and "swap" changesets.
+ */
+public class CompressPostContentChangeTest {
+
+    /* more than two pages */
+    private static final int POSTS = 1201;
+
+    private Connection connection;
+    private Database database;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:backfill-" + UUID.randomUUID() + ";MODE=MySQL", "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE posts (id BIGINT PRIMARY KEY, content TEXT, "
+                    + "content_compressed LONGBLOB, content_preview VARCHAR(1000))");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO posts (id, content) VALUES (?, ?)")) {
+            for (int id = 1; id <= POSTS; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, content(id));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    void execute_shouldCopyEveryPostInTheConvertersFormat_andCommitEachPage() throws Exception {
+        new CompressPostContentChange().execute(database);
+        // nothing is left for Liquibase to commit
+        connection.rollback();
+
+        try (Statement s = connection.createStatement();
+             ResultSet rs = s.executeQuery("SELECT id, content, content_compressed, content_preview FROM posts")) {
+            int rows = 0;
+            while (rs.next()) {
+                String content = rs.getString("content");
+                assertThat(CompressedTextConverter.decode(rs.getBytes("content_compressed"))).isEqualTo(content);
+                assertThat(rs.getString("content_preview")).isEqualTo(Post.preview(content));
+                rows++;
+            }
+            assertThat(rows).isEqualTo(POSTS);
+        }
+    }
+
+    @Test
+    void execute_afterAnInterruptedRun_shouldOnlyCopyRowsNotYetCopied() throws Exception {
+        byte[] copied = CompressedTextConverter.encode("already copied");
+        try (PreparedStatement done = connection.prepareStatement(
+                "UPDATE posts SET content_compressed = ?, content_preview = 'already copied' WHERE id <= 600")) {
+            done.setBytes(1, copied);
+            done.executeUpdate();
+        }
+        connection.commit();
+
+        new CompressPostContentChange().execute(database);
+
+        try (Statement s = connection.createStatement();
+             ResultSet rs = s.executeQuery("SELECT id, content, content_compressed FROM posts ORDER BY id")) {
+            while (rs.next()) {
+                String expected = rs.getLong("id") <= 600 ? "already copied" : rs.getString("content");
+                assertThat(CompressedTextConverter.decode(rs.getBytes("content_compressed"))).isEqualTo(expected);
+            }
+        }
+    }
+
+    /* every third post is long enough to be deflated */
+    private static String content(int id) {
+        String text = "Post " + id + " with some text. ";
+        return id % 3 == 0 ? text.repeat(100) : text;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.blog_api.search;
+
+import com.example.blog_api.config.SearchProperties;
+import com.example.blog_api.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class PostSearchIndexTest {
+
+    private PostRepository postRepository;
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        postRepository = mock(PostRepository.class);
+        SearchProperties props = new SearchProperties();
+        props.setRebuildThreads(2);
+        props.setRebuildBatchSize(2);
+        props.setMaxStaleness(Duration.ofMillis(20));
+        index = new PostSearchIndex(postRepository, props, new SimpleAsyncTaskExecutor());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void rebuild_shouldIndexEveryRangeInBatches() {
+        List<PostIndexRow> rows = List.of(
+                new PostIndexRow(1L, "Spring Boot caching", "Caffeine in front of Hibernate"),
+                new PostIndexRow(2L, "Java records", "Compact data carriers"),
+                new PostIndexRow(3L, "Lucene basics", "Inverted index for spring search"),
+                new PostIndexRow(10L, "Unrelated", "Nothing to see"));
+        when(postRepository.findMinId()).thenReturn(Optional.of(1L));
+        when(postRepository.findMaxId()).thenReturn(Optional.of(10L));
+        when(postRepository.findIndexRows(anyLong(), anyLong(), any(Pageable.class))).thenAnswer(inv -> {
+            long after = inv.getArgument(0);
+            long upTo = inv.getArgument(1);
+            int size = inv.<Pageable>getArgument(2).getPageSize();
+            return rows.stream().filter(r -> r.id() > after && r.id() <= upTo).limit(size).toList();
+        });
+
+        index.rebuild().join();
+
+        assertThat(index.isReady()).isTrue();
+        // title matches rank above content matches
+        assertThat(index.search("spring", null, 10)).extracting(SearchCursor::id).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void search_shouldPageWithCursorOfLastHit() {
+        index.upsert(1L, "spring one", "");
+        index.upsert(2L, "spring two", "");
+        index.upsert(3L, "spring three", "");
+
+        List<SearchCursor> first = await(() -> index.search("spring", null, 2), 2);
+        List<SearchCursor> second = index.search("spring", first.get(1), 2);
+
+        assertThat(first).extracting(SearchCursor::id).doesNotContainAnyElementsOf(second.stream().map(SearchCursor::id).toList());
+        assertThat(first.size() + second.size()).isEqualTo(3);
+    }
+
+    @Test
+    void upsertAndDelete_shouldBecomeSearchable() {
+        index.upsert(5L, "Draft", "first version");
+        await(() -> index.search("draft", null, 10), 1);
+
+        index.upsert(5L, "Final", "second version");
+        assertThat(await(() -> index.search("final", null, 10), 1)).extracting(SearchCursor::id).containsExactly(5L);
+        assertThat(index.search("draft", null, 10)).isEmpty();
+
+        index.delete(5L);
+        assertThat(await(() -> index.search("final", null, 10), 0)).isEmpty();
+    }
+
+    @Test
+    void search_withQuerySyntaxCharacters_shouldNotFail() {
+        assertThat(index.search("\"unbalanced (quote", null, 10)).isEmpty();
+    }
+
+    /* the reader is refreshed in the background, shortly after a change */
+    private List<SearchCursor> await(Supplier<List<SearchCursor>> search, int expected) {
+        long deadline = System.currentTimeMillis() + 2000;
+        List<SearchCursor> hits = search.get();
+        while (hits.size() != expected && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+            hits = search.get();
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.event.PostDeletedEvent;
+import com.example.blog_api.repository.CommentRef;
+import com.example.blog_api.repository.CommentRepository;
+import com.example.blog_api.repository.PostRepository;
+import com.example.blog_api.service.impl.BulkDeleter;
+import com.example.blog_api.service.impl.CommentCounter;
+import com.example.blog_api.service.impl.DtoCacheInvalidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BulkDeleterTest {
+
+    private PostRepository postRepository;
+    private CommentRepository commentRepository;
+    private CommentCounter commentCounter;
+    private DtoCacheInvalidator cacheInvalidator;
+    private ApplicationEventPublisher events;
+    private BulkDeleter bulkDeleter;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        commentRepository = mock(CommentRepository.class);
+        commentCounter = mock(CommentCounter.class);
+        cacheInvalidator = mock(DtoCacheInvalidator.class);
+        events = mock(ApplicationEventPublisher.class);
+        bulkDeleter = new BulkDeleter(postRepository, commentRepository, commentCounter, cacheInvalidator, events);
+    }
+
+    @Test
+    void deleteComments_shouldDeleteTheChunkAndLowerEachPostsCounterByItsShare() {
+        when(commentRepository.findRefsByPostIdIn(List.of(2L, 3L), PageRequest.of(0, 3))).thenReturn(List.of(
+                new CommentRef(10L, 2L), new CommentRef(11L, 3L), new CommentRef(12L, 2L)));
+
+        assertThat(bulkDeleter.deleteComments(List.of(2L, 3L), 3)).isEqualTo(3);
+
+        verify(commentRepository).deleteByIdIn(List.of(10L, 11L, 12L));
+        verify(commentCounter).adjust(eq(2L), eq(-2L), any(Instant.class));
+        verify(commentCounter).adjust(eq(3L), eq(-1L), any(Instant.class));
+        verify(cacheInvalidator).evictPosts(Set.of(2L, 3L));
+    }
+
+    @Test
+    void deleteComments_whenNoneLeft_shouldNotDelete() {
+        when(commentRepository.findRefsByPostIdIn(List.of(2L), PageRequest.of(0, 3))).thenReturn(List.of());
+
+        assertThat(bulkDeleter.deleteComments(List.of(2L), 3)).isZero();
+
+        verify(commentRepository, never()).deleteByIdIn(anyCollection());
+        verifyNoInteractions(cacheInvalidator);
+    }
+
+    @Test
+    void deleteCommentsBeforePosts_shouldLeaveCountersAndCachesToThePostDeletion() {
+        when(commentRepository.findRefsByPostIdIn(List.of(2L, 3L), PageRequest.of(0, 3))).thenReturn(List.of(
+                new CommentRef(10L, 2L), new CommentRef(11L, 3L)));
+
+        assertThat(bulkDeleter.deleteCommentsBeforePosts(List.of(2L, 3L), 3)).isEqualTo(2);
+
+        verify(commentRepository).deleteByIdIn(List.of(10L, 11L));
+        verifyNoInteractions(commentCounter, cacheInvalidator);
+    }
+
+    @Test
+    void deletePosts_shouldDeleteOnlyExistingPostsAndAnnounceEach() {
+        when(postRepository.findExistingIds(List.of(4L, 5L))).thenReturn(List.of(4L));
+
+        assertThat(bulkDeleter.deletePosts(List.of(4L, 5L))).containsExactly(4L);
+
+        verify(commentRepository).deleteByPostIdIn(List.of(4L));
+        verify(postRepository).deleteByIdIn(List.of(4L));
+        verify(postRepository, never()).deleteById(anyLong());
+        verify(cacheInvalidator).evictPosts(List.of(4L));
+        verify(events).publishEvent(new PostDeletedEvent(4L));
+        verifyNoMoreInteractions(events);
+    }
+}
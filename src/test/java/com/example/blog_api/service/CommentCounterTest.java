@@ -0,0 +1,100 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.config.SecondLevelCacheConfig;
+import com.example.blog_api.entity.Post;
+import com.example.blog_api.repository.PostRepository;
+import com.example.blog_api.service.impl.CommentCounter;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.*;
+
+/*
+ * Against H2 with the real second-level cache: the counter update must not cost the other
+ * posts their cache entries, which a JPQL bulk update on Post would.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:comment-counter;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SecondLevelCacheConfig.class, CommentCounter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CommentCounterTest {
+
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CommentCounter commentCounter;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        cache = entityManagerFactory.getCache();
+    }
+
+    @Test
+    void adjust_shouldEvictOnlyTheCountedPost() {
+        Long counted = save("counted");
+        Long other = save("other");
+        tx.executeWithoutResult(s -> {
+            postRepository.findById(counted).orElseThrow();
+            postRepository.findById(other).orElseThrow();
+        });
+        assertThat(cache.contains(Post.class, counted)).isTrue();
+        assertThat(cache.contains(Post.class, other)).isTrue();
+
+        Integer updated = tx.execute(s -> commentCounter.adjust(counted, 1, Instant.now()));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(cache.contains(Post.class, counted)).isFalse();
+        assertThat(cache.contains(Post.class, other)).isTrue();
+        Long commentCount = tx.execute(s -> postRepository.findById(counted).orElseThrow().getCommentCount());
+        assertThat(commentCount).isEqualTo(1);
+    }
+
+    @Test
+    void adjust_shouldInvalidateCachedQueriesOverPosts() {
+        Long id = save("versioned");
+        Long before = tx.execute(s -> postRepository.findVersionById(id).orElseThrow().version());
+
+        tx.executeWithoutResult(s -> commentCounter.adjust(id, 1, Instant.now()));
+
+        Long after = tx.execute(s -> postRepository.findVersionById(id).orElseThrow().version());
+        assertThat(after).isEqualTo(before + 1);
+    }
+
+    @Test
+    void adjust_whenPostMissing_shouldReturnZero() {
+        Integer updated = tx.execute(s -> commentCounter.adjust(-1L, 1, Instant.now()));
+
+        assertThat(updated).isZero();
+    }
+
+    private Long save(String title) {
+        return tx.execute(s -> postRepository.save(Post.builder().title(title).content("text").build()).getId());
+    }
+}
@@ -1,18 +1,31 @@
 package com.example.blog_api.service;
 
+import com.example.blog_api.config.BatchProperties;
+import com.example.blog_api.dto.BatchResult;
 import com.example.blog_api.dto.CommentDto;
 import com.example.blog_api.dto.CreateCommentRequest;
+import com.example.blog_api.dto.CursorPage;
 import com.example.blog_api.entity.Comment;
 import com.example.blog_api.entity.Post;
+import com.example.blog_api.event.CommentsAddedEvent;
 import com.example.blog_api.exception.ResourceNotFoundException;
 import com.example.blog_api.repository.CommentRepository;
 import com.example.blog_api.repository.PostRepository;
+import com.example.blog_api.service.impl.BulkDeleter;
+import com.example.blog_api.service.impl.CommentCounter;
 import com.example.blog_api.service.impl.CommentServiceImpl;
+import com.example.blog_api.service.impl.DtoCacheInvalidator;
+import com.example.blog_api.service.impl.KeysetCursor;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,19 +34,31 @@ public class CommentServiceTest {
 
     private CommentRepository commentRepository;
     private PostRepository postRepository;
+    private CommentCounter commentCounter;
+    private DtoCacheInvalidator cacheInvalidator;
+    private ApplicationEventPublisher events;
+    private BulkDeleter bulkDeleter;
     private CommentServiceImpl commentService;
 
     @BeforeEach
     void setUp() {
         commentRepository = mock(CommentRepository.class);
         postRepository = mock(PostRepository.class);
-        commentService = new CommentServiceImpl(commentRepository, postRepository);
+        commentCounter = mock(CommentCounter.class);
+        cacheInvalidator = mock(DtoCacheInvalidator.class);
+        events = mock(ApplicationEventPublisher.class);
+        bulkDeleter = mock(BulkDeleter.class);
+        BatchProperties batchProperties = new BatchProperties();
+        batchProperties.setDeleteChunkSize(100);
+        commentService = new CommentServiceImpl(commentRepository, postRepository, commentCounter, cacheInvalidator, events,
+                Validation.buildDefaultValidatorFactory().getValidator(), batchProperties, bulkDeleter);
     }
 
     @Test
     void createComment_whenPostExists_shouldSave() {
         Post post = Post.builder().id(2L).title("t").createdAt(Instant.now()).build();
-        when(postRepository.findById(2L)).thenReturn(Optional.of(post));
+        when(commentCounter.adjust(eq(2L), eq(1L), any(Instant.class))).thenReturn(1);
+        when(postRepository.getReferenceById(2L)).thenReturn(post);
 
         CreateCommentRequest req = new CreateCommentRequest();
         req.setPostId(2L);
@@ -45,18 +70,116 @@ public class CommentServiceTest {
         CommentDto dto = commentService.createComment(req);
         assertThat(dto.getId()).isEqualTo(11L);
         verify(commentRepository).save(any(Comment.class));
+        verify(postRepository, never()).findById(anyLong());
+        verify(cacheInvalidator).evictPost(2L);
+        verify(events).publishEvent(new CommentsAddedEvent(2L, 1));
+    }
+
+    @Test
+    void createComment_whenPostNotFound_shouldThrowWithoutSaving() {
+        when(commentCounter.adjust(eq(99L), eq(1L), any(Instant.class))).thenReturn(0);
+
+        CreateCommentRequest req = new CreateCommentRequest();
+        req.setPostId(99L);
+        req.setText("Nice");
+
+        assertThatThrownBy(() -> commentService.createComment(req)).isInstanceOf(ResourceNotFoundException.class);
+        verify(commentRepository, never()).save(any(Comment.class));
+        verifyNoInteractions(events);
     }
 
     @Test
     void getCommentsByPostId_whenPostNotFound_shouldThrow() {
-        when(postRepository.findById(99L)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> commentService.getCommentsByPostId(99L)).isInstanceOf(ResourceNotFoundException.class);
+        when(postRepository.existsById(99L)).thenReturn(false);
+        assertThatThrownBy(() -> commentService.getCommentsByPostId(99L, null, 50)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void getCommentsByPostId_shouldQueryCommentsDirectlyWithoutLoadingPost() {
+        Instant t = Instant.parse("2025-01-04T00:00:00Z");
+        when(postRepository.existsById(2L)).thenReturn(true);
+        when(commentRepository.findFirstPageByPostId(eq(2L), any(Pageable.class))).thenReturn(List.of(
+                Comment.builder().id(1L).text("a").createdAt(t).build(),
+                Comment.builder().id(2L).text("b").createdAt(t).build()
+        ));
+
+        CursorPage<CommentDto> page = commentService.getCommentsByPostId(2L, null, 1);
+
+        assertThat(page.getItems()).extracting(CommentDto::getId).containsExactly(1L);
+        assertThat(KeysetCursor.decode(page.getNext())).isEqualTo(new KeysetCursor(t, 1L));
+        verify(postRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getCommentsByPostId_withCursor_shouldQueryPageAfterCursor() {
+        Instant t = Instant.parse("2025-01-04T00:00:00Z");
+        when(postRepository.existsById(2L)).thenReturn(true);
+        when(commentRepository.findPageByPostIdAfter(eq(2L), eq(t), eq(1L), any(Pageable.class))).thenReturn(List.of());
+
+        CursorPage<CommentDto> page = commentService.getCommentsByPostId(2L, new KeysetCursor(t, 1L).encode(), 1);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNext()).isNull();
     }
 
     @Test
     void deleteComment_whenNotExists_shouldThrow() {
-        when(commentRepository.existsById(7L)).thenReturn(false);
+        when(commentRepository.findById(7L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> commentService.deleteComment(7L)).isInstanceOf(ResourceNotFoundException.class);
     }
-}
 
+    @Test
+    void deleteComment_shouldEvictCachedPostOfTheComment() {
+        Post post = Post.builder().id(2L).title("t").createdAt(Instant.now()).build();
+        Comment c = Comment.builder().id(7L).post(post).text("x").createdAt(Instant.now()).build();
+        when(commentRepository.findById(7L)).thenReturn(Optional.of(c));
+
+        commentService.deleteComment(7L);
+
+        verify(commentRepository).delete(c);
+        verify(commentCounter).adjust(eq(2L), eq(-1L), any(Instant.class));
+        verify(cacheInvalidator).evictPost(2L);
+    }
+
+    @Test
+    void deleteCommentsByPostId_shouldDeleteInChunksUntilOneComesBackShort() {
+        when(postRepository.existsById(2L)).thenReturn(true);
+        when(bulkDeleter.deleteComments(List.of(2L), 100)).thenReturn(100, 100, 40);
+
+        assertThat(commentService.deleteCommentsByPostId(2L)).isEqualTo(240);
+
+        verify(bulkDeleter, times(3)).deleteComments(List.of(2L), 100);
+        verify(commentRepository, never()).delete(any(Comment.class));
+    }
+
+    @Test
+    void deleteCommentsByPostId_whenPostMissing_shouldThrowNotFound() {
+        when(postRepository.existsById(2L)).thenReturn(false);
+
+        assertThatThrownBy(() -> commentService.deleteCommentsByPostId(2L)).isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(bulkDeleter);
+    }
+
+    @Test
+    void createComments_shouldAdjustAndEvictEachAffectedPostOnce() {
+        when(postRepository.findExistingIds(List.of(2L, 3L))).thenReturn(List.of(2L));
+        when(postRepository.getReferenceById(2L)).thenReturn(Post.builder().id(2L).build());
+
+        BatchResult<CommentDto> result = commentService.createComments(List.of(
+                commentRequest(2L, "a"), commentRequest(3L, "b"), commentRequest(2L, " "), commentRequest(2L, "c")));
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getItems().get(1).getErrors()).containsExactly("postId: Post with id 3 not found");
+        assertThat(result.getItems().get(2).getErrors()).containsExactly("text: Text must not be blank");
+        verify(commentCounter).adjust(eq(2L), eq(2L), any(Instant.class));
+        verify(cacheInvalidator).evictPosts(Set.of(2L));
+        verify(events).publishEvent(new CommentsAddedEvent(2L, 2));
+    }
+
+    private CreateCommentRequest commentRequest(Long postId, String text) {
+        CreateCommentRequest req = new CreateCommentRequest();
+        req.setPostId(postId);
+        req.setText(text);
+        return req;
+    }
+}
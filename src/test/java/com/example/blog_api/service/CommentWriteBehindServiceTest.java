@@ -0,0 +1,179 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.config.BatchProperties;
+import com.example.blog_api.config.WriteBehindProperties;
+import com.example.blog_api.dto.BatchItemResult;
+import com.example.blog_api.dto.BatchResult;
+import com.example.blog_api.dto.CommentDto;
+import com.example.blog_api.dto.CreateCommentRequest;
+import com.example.blog_api.dto.QueuedCommentDto;
+import com.example.blog_api.exception.ResourceNotFoundException;
+import com.example.blog_api.exception.ServiceUnavailableException;
+import com.example.blog_api.service.impl.CommentWriteBehindServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class CommentWriteBehindServiceTest {
+
+    private CommentService commentService;
+    private WriteBehindProperties props;
+    private BatchProperties batchProperties;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        commentService = mock(CommentService.class);
+        props = new WriteBehindProperties();
+        props.setPollInterval(Duration.ofMillis(10));
+        batchProperties = new BatchProperties();
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void stop_shouldWriteEverythingQueuedInBatches() {
+        props.setBatchSize(2);
+        when(commentService.createComments(anyList())).thenAnswer(inv -> created(inv.getArgument(0)));
+        CommentWriteBehindServiceImpl service = new CommentWriteBehindServiceImpl(commentService, props, batchProperties, registry);
+        service.start();
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) ids.add(service.enqueue(request(1L, "c" + i)).getCorrelationId());
+        service.stop();
+
+        assertThat(service.isRunning()).isFalse();
+        for (String id : ids) {
+            QueuedCommentDto status = service.getStatus(id);
+            assertThat(status.getStatus()).isEqualTo(QueuedCommentDto.Status.CREATED);
+            assertThat(status.getComment().getId()).isNotNull();
+        }
+        verify(commentService, atLeast(3)).createComments(argThat(batch -> batch.size() <= 2));
+    }
+
+    @Test
+    void enqueue_whenQueueIsFull_shouldRefuseUntilItDrains() throws Exception {
+        props.setQueueCapacity(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(commentService.createComments(anyList())).thenAnswer(inv -> {
+            writing.countDown();
+            release.await();
+            return created(inv.getArgument(0));
+        });
+        CommentWriteBehindServiceImpl service = new CommentWriteBehindServiceImpl(commentService, props, batchProperties, registry);
+        service.start();
+
+        service.enqueue(request(1L, "being written"));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        String queued = service.enqueue(request(1L, "waiting")).getCorrelationId();
+        assertThatThrownBy(() -> service.enqueue(request(1L, "one too many")))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("full");
+        assertThat(registry.get("blog.comments.write.behind.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        service.stop();
+        assertThat(service.getStatus(queued).getStatus()).isEqualTo(QueuedCommentDto.Status.CREATED);
+        assertThatThrownBy(() -> service.enqueue(request(1L, "after shutdown")))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    void write_shouldReportRejectedAndFailedItems() {
+        when(commentService.createComments(anyList()))
+                .thenReturn(new BatchResult<>(0, 1, List.of(
+                        new BatchItemResult<>(0, null, List.of("postId: Post with id 9 not found")))))
+                .thenThrow(new IllegalStateException("database down"));
+        CommentWriteBehindServiceImpl service = new CommentWriteBehindServiceImpl(commentService, props, batchProperties, registry);
+        service.start();
+
+        String rejected = service.enqueue(request(9L, "nope")).getCorrelationId();
+        await(() -> service.getStatus(rejected).getStatus() != QueuedCommentDto.Status.QUEUED);
+        String failed = service.enqueue(request(1L, "later")).getCorrelationId();
+        service.stop();
+
+        assertThat(service.getStatus(rejected).getStatus()).isEqualTo(QueuedCommentDto.Status.REJECTED);
+        assertThat(service.getStatus(rejected).getErrors()).containsExactly("postId: Post with id 9 not found");
+        assertThat(service.getStatus(failed).getStatus()).isEqualTo(QueuedCommentDto.Status.FAILED);
+    }
+
+    @Test
+    void stop_whenWriterIsStuck_shouldGiveUpAfterTheTimeout() throws Exception {
+        props.setShutdownTimeout(Duration.ofMillis(100));
+        CountDownLatch writing = new CountDownLatch(1);
+        when(commentService.createComments(anyList())).thenAnswer(inv -> {
+            writing.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("interrupted");
+        });
+        CommentWriteBehindServiceImpl service = new CommentWriteBehindServiceImpl(commentService, props, batchProperties, registry);
+        service.start();
+
+        service.enqueue(request(1L, "stuck"));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        String left = service.enqueue(request(1L, "left behind")).getCorrelationId();
+        service.stop();
+
+        // the writer is interrupted out of the stuck batch and does not start another
+        await(() -> !service.isRunning());
+        assertThat(service.getStatus(left).getStatus()).isEqualTo(QueuedCommentDto.Status.QUEUED);
+        verify(commentService, times(1)).createComments(anyList());
+    }
+
+    @Test
+    void constructor_whenBatchSizeExceedsBatchMaxItems_shouldFail() {
+        props.setBatchSize(101);
+        batchProperties.setMaxItems(100);
+
+        assertThatThrownBy(() -> new CommentWriteBehindServiceImpl(commentService, props, batchProperties, registry))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("blog.batch.max-items");
+    }
+
+    @Test
+    void getStatus_whenUnknown_shouldThrowNotFound() {
+        CommentWriteBehindServiceImpl service = new CommentWriteBehindServiceImpl(commentService, props, batchProperties, registry);
+        assertThatThrownBy(() -> service.getStatus("missing")).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static CreateCommentRequest request(Long postId, String text) {
+        CreateCommentRequest req = new CreateCommentRequest();
+        req.setPostId(postId);
+        req.setText(text);
+        return req;
+    }
+
+    private static BatchResult<CommentDto> created(List<CreateCommentRequest> items) {
+        List<BatchItemResult<CommentDto>> results = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            CommentDto dto = new CommentDto();
+            dto.setId(100L + i);
+            dto.setText(items.get(i).getText());
+            results.add(new BatchItemResult<>(i, dto, null));
+        }
+        return new BatchResult<>(items.size(), 0, results);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("condition not met within 5s");
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.config.BatchProperties;
+import com.example.blog_api.config.DtoCacheConfig;
+import com.example.blog_api.entity.Post;
+import com.example.blog_api.repository.PostRepository;
+import com.example.blog_api.repository.UserRepository;
+import com.example.blog_api.service.impl.BulkDeleter;
+import com.example.blog_api.service.impl.DtoCacheInvalidator;
+import com.example.blog_api.service.impl.PostServiceImpl;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/*
+ * The DTO cache in front of PostServiceImpl, with the update's commit-time eviction landing while
+ * a cache miss is still mapping the row it read before that commit.
+ */
+@SpringJUnitConfig(DtoCacheRaceTest.Config.class)
+public class DtoCacheRaceTest {
+
+    @Configuration
+    @Import({DtoCacheConfig.class, DtoCacheInvalidator.class, PostServiceImpl.class})
+    static class Config {
+        @Bean
+        PostRepository postRepository() {
+            return mock(PostRepository.class);
+        }
+
+        @Bean
+        UserRepository userRepository() {
+            return mock(UserRepository.class);
+        }
+
+        @Bean
+        BulkDeleter bulkDeleter() {
+            return mock(BulkDeleter.class);
+        }
+
+        @Bean
+        Validator validator() {
+            return Validation.buildDefaultValidatorFactory().getValidator();
+        }
+
+        @Bean
+        BatchProperties batchProperties() {
+            return new BatchProperties();
+        }
+    }
+
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private DtoCacheInvalidator cacheInvalidator;
+
+    @Test
+    void evictionDuringAMiss_shouldNotLeaveTheOldPostCached() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(postRepository.findWithAuthorAndCommentsById(1L))
+                .thenAnswer(inv -> {
+                    reading.countDown();
+                    release.await();
+                    return Optional.of(post("before the update"));
+                })
+                .thenReturn(Optional.of(post("after the update")));
+
+        Thread miss = new Thread(() -> postService.getPostById(1L));
+        miss.start();
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread eviction = new Thread(() -> cacheInvalidator.evictPost(1L));
+        eviction.start();
+        // either it waits for the load to finish, or it is already done and the load puts afterwards
+        await(() -> eviction.getState() == Thread.State.BLOCKED || eviction.getState() == Thread.State.WAITING
+                || eviction.getState() == Thread.State.TERMINATED);
+        release.countDown();
+        miss.join(5000);
+        eviction.join(5000);
+
+        assertThat(postService.getPostById(1L).getTitle()).isEqualTo("after the update");
+    }
+
+    private static Post post(String title) {
+        return Post.builder().id(1L).title(title).content("text").createdAt(Instant.now()).build();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("condition not met within 5s");
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.exception.BadRequestException;
+import com.example.blog_api.repository.PostRepository;
+import com.example.blog_api.search.PostSearchIndex;
+import com.example.blog_api.search.SearchCursor;
+import com.example.blog_api.service.impl.PostSearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PostSearchServiceTest {
+
+    private PostSearchIndex index;
+    private PostRepository postRepository;
+    private PostSearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() {
+        index = mock(PostSearchIndex.class);
+        postRepository = mock(PostRepository.class);
+        searchService = new PostSearchServiceImpl(index, postRepository);
+    }
+
+    @Test
+    void search_shouldKeepIndexRankingAndReturnCursorOfLastHit() {
+        when(index.search("spring", null, 3)).thenReturn(List.of(
+                new SearchCursor(2.5f, 7L), new SearchCursor(1.5f, 3L), new SearchCursor(1.0f, 9L)));
+        when(postRepository.findSummariesByIds(List.of(7L, 3L), 0)).thenReturn(List.of(summary(3L), summary(7L)));
+
+        CursorPage<PostSummaryDto> page = searchService.search("spring", null, 2);
+
+        assertThat(page.getItems()).extracting(PostSummaryDto::getId).containsExactly(7L, 3L);
+        assertThat(SearchCursor.decode(page.getNext())).isEqualTo(new SearchCursor(1.5f, 3L));
+    }
+
+    @Test
+    void search_shouldDropHitsWhosePostIsGone() {
+        SearchCursor after = new SearchCursor(1.5f, 3L);
+        when(index.search("spring", after, 21)).thenReturn(List.of(new SearchCursor(1.0f, 9L), new SearchCursor(0.5f, 4L)));
+        when(postRepository.findSummariesByIds(List.of(9L, 4L), 0)).thenReturn(List.of(summary(4L)));
+
+        CursorPage<PostSummaryDto> page = searchService.search("spring", after.encode(), 20);
+
+        assertThat(page.getItems()).extracting(PostSummaryDto::getId).containsExactly(4L);
+        assertThat(page.getNext()).isNull();
+    }
+
+    @Test
+    void search_withBlankQuery_shouldThrowBadRequest() {
+        assertThatThrownBy(() -> searchService.search(" ", null, 20)).isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(index);
+    }
+
+    private PostSummaryDto summary(Long id) {
+        return new PostSummaryDto(id, "t" + id, "Alice", Instant.now(), 0, null);
+    }
+}
@@ -1,20 +1,41 @@
 package com.example.blog_api.service;
 
+import com.example.blog_api.config.BatchProperties;
+import com.example.blog_api.dto.BatchResult;
 import com.example.blog_api.dto.CreatePostRequest;
+import com.example.blog_api.dto.CursorPage;
+import com.example.blog_api.dto.MultiGetResult;
 import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.dto.PostExportDto;
+import com.example.blog_api.dto.PostInclude;
+import com.example.blog_api.dto.PostSummaryDto;
 import com.example.blog_api.entity.Post;
 import com.example.blog_api.entity.User;
+import com.example.blog_api.event.PostSavedEvent;
+import com.example.blog_api.exception.BadRequestException;
 import com.example.blog_api.exception.ResourceNotFoundException;
 import com.example.blog_api.repository.PostRepository;
 import com.example.blog_api.repository.UserRepository;
+import com.example.blog_api.service.impl.BulkDeleter;
+import com.example.blog_api.service.impl.DtoCacheInvalidator;
+import com.example.blog_api.service.impl.KeysetCursor;
 import com.example.blog_api.service.impl.PostServiceImpl;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,13 +44,23 @@ public class PostServiceTest {
 
     private PostRepository postRepository;
     private UserRepository userRepository;
+    private DtoCacheInvalidator cacheInvalidator;
+    private ApplicationEventPublisher events;
+    private BulkDeleter bulkDeleter;
+    private BatchProperties batchProperties;
     private PostServiceImpl postService;
 
     @BeforeEach
     void setUp() {
         postRepository = mock(PostRepository.class);
         userRepository = mock(UserRepository.class);
-        postService = new PostServiceImpl(postRepository, userRepository);
+        cacheInvalidator = mock(DtoCacheInvalidator.class);
+        events = mock(ApplicationEventPublisher.class);
+        bulkDeleter = mock(BulkDeleter.class);
+        batchProperties = new BatchProperties();
+        batchProperties.setDeleteChunkSize(2);
+        postService = new PostServiceImpl(postRepository, userRepository, cacheInvalidator,
+                Validation.buildDefaultValidatorFactory().getValidator(), batchProperties, events, bulkDeleter);
     }
 
     @Test
@@ -58,25 +89,239 @@ public class PostServiceTest {
 
     @Test
     void getPostById_whenNotFound_shouldThrow() {
-        when(postRepository.findById(99L)).thenReturn(Optional.empty());
+        when(postRepository.findWithAuthorAndCommentsById(99L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> postService.getPostById(99L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Post");
     }
 
     @Test
-    void getAllPosts_shouldReturnList() {
-        when(postRepository.findAll()).thenReturn(List.of(
-                Post.builder().id(1L).title("t1").createdAt(Instant.now()).build()
+    void getPostById_withAuthorOnly_shouldUseAuthorFetchPlanAndSkipComments() {
+        User u = User.builder().id(1L).name("Alice").email("a@x.com").createdAt(Instant.now()).build();
+        Post p = Post.builder().id(3L).title("t").author(u).createdAt(Instant.now()).build();
+        when(postRepository.findWithAuthorById(3L)).thenReturn(Optional.of(p));
+
+        PostDto dto = postService.getPostById(3L, EnumSet.of(PostInclude.AUTHOR));
+
+        assertThat(dto.getAuthorName()).isEqualTo("Alice");
+        assertThat(dto.getComments()).isNull();
+        verify(postRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getPostsByIds_shouldKeepRequestOrderAndReportMissing() {
+        User u = User.builder().id(1L).name("Alice").email("a@x.com").createdAt(Instant.now()).build();
+        Post p3 = Post.builder().id(3L).title("three").author(u).createdAt(Instant.now()).build();
+        Post p5 = Post.builder().id(5L).title("five").author(u).createdAt(Instant.now()).build();
+        when(postRepository.findWithAuthorByIdIn(List.of(5L, 9L, 3L))).thenReturn(List.of(p3, p5));
+
+        MultiGetResult<PostDto> result = postService.getPostsByIds(List.of(5L, 9L, 3L, 5L));
+
+        assertThat(result.getItems()).extracting(PostDto::getId).containsExactly(5L, 3L);
+        assertThat(result.getItems()).extracting(PostDto::getAuthorName).containsOnly("Alice");
+        assertThat(result.getItems()).extracting(PostDto::getComments).containsOnlyNulls();
+        assertThat(result.getMissing()).containsExactly(9L);
+    }
+
+    @Test
+    void getPostsByIds_withTooManyIds_shouldThrowBadRequest() {
+        List<Long> ids = new ArrayList<>();
+        for (long i = 1; i <= 101; i++) ids.add(i);
+
+        assertThatThrownBy(() -> postService.getPostsByIds(ids))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    void getPostById_withoutIncludes_shouldLoadOnlyThePost() {
+        Post p = Post.builder().id(4L).title("t").commentCount(5).createdAt(Instant.now()).build();
+        when(postRepository.findById(4L)).thenReturn(Optional.of(p));
+
+        PostDto dto = postService.getPostById(4L, EnumSet.noneOf(PostInclude.class));
+
+        assertThat(dto.getAuthorName()).isNull();
+        assertThat(dto.getComments()).isNull();
+        assertThat(dto.getCommentCount()).isEqualTo(5);
+    }
+
+    @Test
+    void getPosts_firstPage_shouldReturnSummariesWithoutNextCursor() {
+        when(postRepository.findSummaryFirstPage(eq(0), any(Pageable.class))).thenReturn(List.of(
+                summary(1L, Instant.now())
         ));
-        List<PostDto> res = postService.getAllPosts();
-        assertThat(res).hasSize(1);
+        CursorPage<PostSummaryDto> res = postService.getPosts(null, 20, 0);
+        assertThat(res.getItems()).hasSize(1);
+        assertThat(res.getNext()).isNull();
+    }
+
+    @Test
+    void getPosts_whenMoreRowsThanLimit_shouldTrimAndReturnCursorOfLastItem() {
+        Instant t = Instant.parse("2025-01-03T00:00:00Z");
+        when(postRepository.findSummaryFirstPage(eq(0), any(Pageable.class))).thenReturn(List.of(
+                summary(3L, t), summary(2L, t), summary(1L, t)
+        ));
+        CursorPage<PostSummaryDto> res = postService.getPosts(null, 2, 0);
+        assertThat(res.getItems()).extracting(PostSummaryDto::getId).containsExactly(3L, 2L);
+        assertThat(KeysetCursor.decode(res.getNext())).isEqualTo(new KeysetCursor(t, 2L));
+    }
+
+    @Test
+    void getPosts_withCursor_shouldQueryPageBeforeCursor() {
+        Instant t = Instant.parse("2025-01-03T00:00:00Z");
+        when(postRepository.findSummaryPageBefore(eq(t), eq(2L), eq(0), any(Pageable.class))).thenReturn(List.of());
+        CursorPage<PostSummaryDto> res = postService.getPosts(new KeysetCursor(t, 2L).encode(), 2, 0);
+        assertThat(res.getItems()).isEmpty();
+        verify(postRepository, never()).findSummaryFirstPage(anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void getPosts_shouldCapExcerptLength() {
+        when(postRepository.findSummaryFirstPage(anyInt(), any(Pageable.class))).thenReturn(List.of());
+        postService.getPosts(null, 20, 1_000_000);
+        verify(postRepository).findSummaryFirstPage(eq(1000), any(Pageable.class));
+    }
+
+    @Test
+    void getPosts_withMalformedCursor_shouldThrowBadRequest() {
+        assertThatThrownBy(() -> postService.getPosts("not-a-cursor", 20, 0))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void getPostsByAuthorId_withCursor_shouldQueryThatAuthorsPageBeforeCursor() {
+        Instant t = Instant.parse("2025-01-03T00:00:00Z");
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(postRepository.findSummaryPageByAuthorIdBefore(eq(1L), eq(t), eq(5L), eq(0), any(Pageable.class)))
+                .thenReturn(List.of(summary(4L, t), summary(3L, t), summary(2L, t)));
+
+        CursorPage<PostSummaryDto> res = postService.getPostsByAuthorId(1L, new KeysetCursor(t, 5L).encode(), 2, 0);
+
+        assertThat(res.getItems()).extracting(PostSummaryDto::getId).containsExactly(4L, 3L);
+        assertThat(KeysetCursor.decode(res.getNext())).isEqualTo(new KeysetCursor(t, 3L));
+        verify(postRepository, never()).findSummaryFirstPageByAuthorId(anyLong(), anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void getPostsByAuthorId_whenAuthorMissing_shouldThrowNotFound() {
+        when(userRepository.existsById(9L)).thenReturn(false);
+
+        assertThatThrownBy(() -> postService.getPostsByAuthorId(9L, null, 20, 0))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(postRepository, never()).findSummaryFirstPageByAuthorId(anyLong(), anyInt(), any(Pageable.class));
     }
 
     @Test
     void deletePost_whenNotExists_shouldThrow() {
         when(postRepository.existsById(5L)).thenReturn(false);
         assertThatThrownBy(() -> postService.deletePost(5L)).isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(cacheInvalidator, bulkDeleter);
     }
-}
 
+    @Test
+    void deletePost_shouldDeleteCommentsInChunksThenThePost() {
+        when(postRepository.existsById(5L)).thenReturn(true);
+        when(bulkDeleter.deleteCommentsBeforePosts(List.of(5L), 2)).thenReturn(2, 2, 1);
+        when(bulkDeleter.deletePosts(List.of(5L))).thenReturn(List.of(5L));
+
+        postService.deletePost(5L);
+
+        InOrder order = inOrder(bulkDeleter);
+        order.verify(bulkDeleter, times(3)).deleteCommentsBeforePosts(List.of(5L), 2);
+        order.verify(bulkDeleter).deletePosts(List.of(5L));
+        verify(postRepository, never()).deleteById(anyLong());
+        verify(postRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void deletePost_whenDeletedConcurrently_shouldThrow() {
+        when(postRepository.existsById(5L)).thenReturn(true);
+        when(bulkDeleter.deletePosts(List.of(5L))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> postService.deletePost(5L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void deletePostsByAuthorId_shouldDeleteChunkByChunkUntilNoneLeft() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(postRepository.findIdsByAuthorId(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(3L, 4L), List.of(7L), List.of());
+        when(bulkDeleter.deletePosts(List.of(3L, 4L))).thenReturn(List.of(3L, 4L));
+        when(bulkDeleter.deletePosts(List.of(7L))).thenReturn(List.of(7L));
+
+        assertThat(postService.deletePostsByAuthorId(1L)).isEqualTo(3);
+
+        verify(bulkDeleter).deleteCommentsBeforePosts(List.of(3L, 4L), 2);
+        verify(bulkDeleter).deleteCommentsBeforePosts(List.of(7L), 2);
+        verify(postRepository, times(3)).findIdsByAuthorId(1L, PageRequest.of(0, 2));
+    }
+
+    @Test
+    void deletePostsByAuthorId_whenAuthorMissing_shouldThrowNotFound() {
+        when(userRepository.existsById(9L)).thenReturn(false);
+
+        assertThatThrownBy(() -> postService.deletePostsByAuthorId(9L)).isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(bulkDeleter);
+    }
+
+    @Test
+    void updatePost_shouldEvictCachedDto() {
+        Post p = Post.builder().id(6L).title("old").content("old").createdAt(Instant.now()).build();
+        when(postRepository.findWithAuthorAndCommentsById(6L)).thenReturn(Optional.of(p));
+        when(postRepository.save(p)).thenReturn(p);
+
+        CreatePostRequest req = new CreatePostRequest();
+        req.setTitle("new");
+        req.setContent("new");
+        req.setAuthorId(1L);
+        postService.updatePost(6L, req);
+
+        verify(cacheInvalidator).evictPost(6L);
+        verify(events).publishEvent(new PostSavedEvent(6L, "new", "new"));
+    }
+
+    private PostSummaryDto summary(Long id, Instant createdAt) {
+        return new PostSummaryDto(id, "t" + id, "Alice", createdAt, 0, null);
+    }
+
+    @Test
+    void createPosts_shouldLoadAuthorsOnceAndRejectUnknownOnes() {
+        User u = User.builder().id(1L).name("Alice").email("a@x.com").createdAt(Instant.now()).build();
+        when(userRepository.findAllById(List.of(1L, 7L))).thenReturn(List.of(u));
+
+        BatchResult<PostDto> result = postService.createPosts(List.of(
+                postRequest("One", 1L), postRequest("Two", 7L), postRequest("Three", 1L)));
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getItems().get(0).getData().getAuthorName()).isEqualTo("Alice");
+        assertThat(result.getItems().get(1).getData()).isNull();
+        assertThat(result.getItems().get(1).getErrors()).containsExactly("authorId: User with id 7 not found");
+        assertThat(result.getItems().get(2).getData().getTitle()).isEqualTo("Three");
+        verify(userRepository).findAllById(List.of(1L, 7L));
+        verify(postRepository).saveAll(argThat(posts -> posts.spliterator().getExactSizeIfKnown() == 2));
+    }
+
+    private CreatePostRequest postRequest(String title, Long authorId) {
+        CreatePostRequest req = new CreatePostRequest();
+        req.setTitle(title);
+        req.setContent("Body");
+        req.setAuthorId(authorId);
+        return req;
+    }
+
+    @Test
+    void exportPosts_shouldPassEveryRowToTheSinkAndCloseTheStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<PostExportDto> rows = Stream.of(
+                new PostExportDto(1L, "a", "x", 1L, "Alice", Instant.now(), null),
+                new PostExportDto(2L, "b", "y", null, null, Instant.now(), null)).onClose(() -> closed.set(true));
+        when(postRepository.streamAllForExport()).thenReturn(rows);
+
+        List<Long> seen = new ArrayList<>();
+        long count = postService.exportPosts(row -> seen.add(row.getId()));
+
+        assertThat(count).isEqualTo(2);
+        assertThat(seen).containsExactly(1L, 2L);
+        assertThat(closed).isTrue();
+    }
+}
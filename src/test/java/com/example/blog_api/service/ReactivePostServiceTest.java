@@ -0,0 +1,81 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.dto.CommentDto;
+import com.example.blog_api.dto.PostDto;
+import com.example.blog_api.exception.ResourceNotFoundException;
+import com.example.blog_api.repository.reactive.ReactiveCommentRepository;
+import com.example.blog_api.repository.reactive.ReactivePostRepository;
+import com.example.blog_api.service.impl.ReactivePostServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReactivePostServiceTest {
+
+    private ReactivePostRepository postRepository;
+    private ReactiveCommentRepository commentRepository;
+    private ReactivePostServiceImpl reactivePostService;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(ReactivePostRepository.class);
+        commentRepository = mock(ReactiveCommentRepository.class);
+        reactivePostService = new ReactivePostServiceImpl(postRepository, commentRepository);
+    }
+
+    @Test
+    void getPostById_shouldAttachComments() {
+        when(postRepository.findById(1L)).thenReturn(Mono.just(post(1L)));
+        when(commentRepository.findByPostId(1L)).thenReturn(Flux.just(comment(10L), comment(11L)));
+
+        PostDto dto = reactivePostService.getPostById(1L).block();
+
+        assertThat(dto.getTitle()).isEqualTo("Title");
+        assertThat(dto.getComments()).extracting(CommentDto::getId).containsExactly(10L, 11L);
+    }
+
+    @Test
+    void getPostById_shouldFailWhenMissing() {
+        when(postRepository.findById(99L)).thenReturn(Mono.empty());
+        when(commentRepository.findByPostId(99L)).thenReturn(Flux.empty());
+
+        assertThatThrownBy(() -> reactivePostService.getPostById(99L).block())
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void streamCommentsByPostId_shouldStreamInRepositoryOrder() {
+        when(postRepository.existsById(1L)).thenReturn(Mono.just(true));
+        when(commentRepository.findByPostId(1L)).thenReturn(Flux.just(comment(10L), comment(11L), comment(12L)));
+
+        assertThat(reactivePostService.streamCommentsByPostId(1L).collectList().block())
+                .extracting(CommentDto::getId).containsExactly(10L, 11L, 12L);
+    }
+
+    @Test
+    void streamCommentsByPostId_shouldFailBeforeReadingCommentsWhenPostMissing() {
+        when(postRepository.existsById(99L)).thenReturn(Mono.just(false));
+
+        assertThatThrownBy(() -> reactivePostService.streamCommentsByPostId(99L).blockFirst())
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(commentRepository, never()).findByPostId(any());
+    }
+
+    private PostDto post(Long id) {
+        PostDto dto = new PostDto();
+        dto.setId(id);
+        dto.setTitle("Title");
+        return dto;
+    }
+
+    private CommentDto comment(Long id) {
+        CommentDto dto = new CommentDto();
+        dto.setId(id);
+        dto.setText("Comment " + id);
+        return dto;
+    }
+}
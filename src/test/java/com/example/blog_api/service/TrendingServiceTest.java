@@ -0,0 +1,95 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.config.TrendingProperties;
+import com.example.blog_api.dto.PostSummaryDto;
+import com.example.blog_api.dto.TrendingDto;
+import com.example.blog_api.dto.TrendingPostDto;
+import com.example.blog_api.exception.BadRequestException;
+import com.example.blog_api.repository.PostRepository;
+import com.example.blog_api.service.impl.TrendingServiceImpl;
+import com.example.blog_api.trending.TrendingEntry;
+import com.example.blog_api.trending.TrendingMetric;
+import com.example.blog_api.trending.TrendingTracker;
+import com.example.blog_api.trending.TrendingWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TrendingServiceTest {
+
+    private static final Instant AS_OF = Instant.parse("2024-01-01T12:00:00Z");
+
+    private TrendingTracker tracker;
+    private PostRepository postRepository;
+    private TrendingServiceImpl trendingService;
+
+    @BeforeEach
+    void setUp() {
+        tracker = mock(TrendingTracker.class);
+        postRepository = mock(PostRepository.class);
+        TrendingProperties props = new TrendingProperties();
+        props.setRankingSize(3);
+        trendingService = new TrendingServiceImpl(tracker, postRepository, props);
+    }
+
+    @Test
+    void getTrending_shouldKeepRankingOrderAndDropDeletedPosts() {
+        when(tracker.ranking(TrendingWindow.ONE_DAY, TrendingMetric.COMMENTS)).thenReturn(new TrendingTracker.Ranking(
+                List.of(new TrendingEntry(7L, 30), new TrendingEntry(3L, 20), new TrendingEntry(9L, 10)), AS_OF));
+        when(postRepository.findSummariesByIds(List.of(7L, 3L, 9L), 0)).thenReturn(List.of(summary(9L), summary(7L)));
+
+        TrendingDto dto = trendingService.getTrending("24h", "comments", 10);
+
+        assertThat(dto.getWindow()).isEqualTo("24h");
+        assertThat(dto.getBy()).isEqualTo("comments");
+        assertThat(dto.getAsOf()).isEqualTo(AS_OF);
+        assertThat(dto.getItems()).extracting(TrendingPostDto::getScore).containsExactly(30L, 10L);
+        assertThat(dto.getItems()).extracting(i -> i.getPost().getId()).containsExactly(7L, 9L);
+    }
+
+    @Test
+    void getTrending_shouldCutTheRankingToTheLimit() {
+        when(tracker.ranking(TrendingWindow.ONE_HOUR, TrendingMetric.VIEWS)).thenReturn(new TrendingTracker.Ranking(
+                List.of(new TrendingEntry(7L, 30), new TrendingEntry(3L, 20), new TrendingEntry(9L, 10)), AS_OF));
+        when(postRepository.findSummariesByIds(List.of(7L), 0)).thenReturn(List.of(summary(7L)));
+
+        TrendingDto dto = trendingService.getTrending("1h", "views", 1);
+
+        assertThat(dto.getItems()).extracting(i -> i.getPost().getId()).containsExactly(7L);
+    }
+
+    @Test
+    void getTrending_withEmptyRanking_shouldNotQuery() {
+        when(tracker.ranking(TrendingWindow.ONE_HOUR, TrendingMetric.VIEWS))
+                .thenReturn(new TrendingTracker.Ranking(List.of(), Instant.EPOCH));
+
+        TrendingDto dto = trendingService.getTrending("1H", "VIEWS", 10);
+
+        assertThat(dto.getItems()).isEmpty();
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    void getTrending_withUnknownWindowOrMetric_shouldThrowBadRequest() {
+        assertThatThrownBy(() -> trendingService.getTrending("7d", "views", 10)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> trendingService.getTrending("1h", "likes", 10)).isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(tracker, postRepository);
+    }
+
+    @Test
+    void recordView_shouldOnlyCountInMemory() {
+        trendingService.recordView(5L);
+
+        verify(tracker).recordView(5L);
+        verifyNoInteractions(postRepository);
+    }
+
+    private PostSummaryDto summary(Long id) {
+        return new PostSummaryDto(id, "Post " + id, "Alice", Instant.parse("2024-01-01T00:00:00Z"), 0, null);
+    }
+}
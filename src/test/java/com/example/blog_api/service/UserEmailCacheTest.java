@@ -0,0 +1,61 @@
+package com.example.blog_api.service;
+
+import com.example.blog_api.config.CacheNames;
+import com.example.blog_api.repository.UserRepository;
+import com.example.blog_api.service.impl.UserEmailCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserEmailCacheTest {
+
+    private UserRepository userRepository;
+    private UserEmailCache emailCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(CacheNames.USER_IDS_BY_EMAIL, Caffeine.newBuilder().maximumSize(100).build());
+        emailCache = new UserEmailCache(cacheManager, userRepository);
+    }
+
+    @Test
+    void findUserId_shouldQueryOncePerEmailIgnoringCase() {
+        when(userRepository.findIdByEmail("alice@example.com")).thenReturn(Optional.of(1L));
+
+        assertThat(emailCache.findUserId("alice@example.com")).contains(1L);
+        assertThat(emailCache.findUserId("Alice@Example.com")).contains(1L);
+
+        verify(userRepository, times(1)).findIdByEmail(anyString());
+    }
+
+    @Test
+    void findUserId_shouldRememberUnknownEmails() {
+        when(userRepository.findIdByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        assertThat(emailCache.findUserId("nobody@example.com")).isEmpty();
+        assertThat(emailCache.findUserId("nobody@example.com")).isEmpty();
+
+        verify(userRepository, times(1)).findIdByEmail("nobody@example.com");
+    }
+
+    @Test
+    void evict_shouldMakeTheNextLookupQueryAgain() {
+        when(userRepository.findIdByEmail("new@example.com")).thenReturn(Optional.empty(), Optional.of(5L));
+        assertThat(emailCache.findUserId("new@example.com")).isEmpty();
+
+        emailCache.evict(List.of("New@example.com"));
+
+        assertThat(emailCache.findUserId("new@example.com")).contains(5L);
+        verify(userRepository, times(2)).findIdByEmail("new@example.com");
+    }
+}
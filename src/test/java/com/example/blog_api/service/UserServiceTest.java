@@ -1,15 +1,25 @@
 package com.example.blog_api.service;
 
+import com.example.blog_api.config.BatchProperties;
+import com.example.blog_api.dto.BatchResult;
 import com.example.blog_api.dto.CreateUserRequest;
+import com.example.blog_api.dto.MultiGetResult;
 import com.example.blog_api.dto.UserDto;
 import com.example.blog_api.entity.User;
+import com.example.blog_api.exception.BadRequestException;
 import com.example.blog_api.exception.ResourceNotFoundException;
+import com.example.blog_api.repository.PostRepository;
 import com.example.blog_api.repository.UserRepository;
+import com.example.blog_api.service.impl.DtoCacheInvalidator;
+import com.example.blog_api.service.impl.UserEmailCache;
 import com.example.blog_api.service.impl.UserServiceImpl;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,12 +29,19 @@ import static org.mockito.Mockito.*;
 public class UserServiceTest {
 
     private UserRepository userRepository;
+    private PostRepository postRepository;
+    private DtoCacheInvalidator cacheInvalidator;
+    private UserEmailCache emailCache;
     private UserServiceImpl userService;
 
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
-        userService = new UserServiceImpl(userRepository);
+        postRepository = mock(PostRepository.class);
+        cacheInvalidator = mock(DtoCacheInvalidator.class);
+        emailCache = mock(UserEmailCache.class);
+        userService = new UserServiceImpl(userRepository, postRepository, cacheInvalidator,
+                Validation.buildDefaultValidatorFactory().getValidator(), new BatchProperties(), emailCache);
     }
 
     @Test
@@ -40,6 +57,7 @@ public class UserServiceTest {
         assertThat(dto).isNotNull();
         assertThat(dto.getId()).isEqualTo(3L);
         verify(userRepository).save(any(User.class));
+        verify(emailCache).evict(List.of("c@example.com"));
     }
 
     @Test
@@ -59,11 +77,135 @@ public class UserServiceTest {
                 .hasMessageContaining("User");
     }
 
+    @Test
+    void getUsersByIds_shouldKeepRequestOrderAndReportMissing() {
+        User a = User.builder().id(1L).name("A").email("a@x.com").createdAt(Instant.now()).build();
+        User b = User.builder().id(2L).name("B").email("b@x.com").createdAt(Instant.now()).build();
+        when(userRepository.findAllById(List.of(2L, 7L, 1L))).thenReturn(List.of(a, b));
+
+        MultiGetResult<UserDto> result = userService.getUsersByIds(List.of(2L, 7L, 1L));
+
+        assertThat(result.getItems()).extracting(UserDto::getId).containsExactly(2L, 1L);
+        assertThat(result.getMissing()).containsExactly(7L);
+    }
+
+    @Test
+    void getUsersByIds_withoutIds_shouldThrowBadRequest() {
+        assertThatThrownBy(() -> userService.getUsersByIds(List.of()))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     void deleteUser_whenNotExists_shouldThrow() {
-        when(userRepository.existsById(42L)).thenReturn(false);
+        when(userRepository.findEmailById(42L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> userService.deleteUser(42L))
                 .isInstanceOf(ResourceNotFoundException.class);
+        verify(userRepository, never()).deleteById(anyLong());
     }
-}
 
+    @Test
+    void deleteUser_shouldDetachPostsBeforeDeleting() {
+        when(userRepository.findEmailById(42L)).thenReturn(Optional.of("u@x.com"));
+        userService.deleteUser(42L);
+        var inOrder = inOrder(postRepository, userRepository);
+        inOrder.verify(postRepository).detachAuthor(42L);
+        inOrder.verify(userRepository).deleteById(42L);
+    }
+
+    @Test
+    void deleteUser_shouldEvictUserAuthoredPostsAndEmail() {
+        when(userRepository.findEmailById(42L)).thenReturn(Optional.of("u@x.com"));
+        when(postRepository.findIdsByAuthorId(42L)).thenReturn(List.of(1L, 2L));
+
+        userService.deleteUser(42L);
+
+        verify(cacheInvalidator).evictUser(42L);
+        verify(cacheInvalidator).evictPosts(List.of(1L, 2L));
+        verify(emailCache).evict(List.of("u@x.com"));
+    }
+
+    @Test
+    void updateUser_whenRenamed_shouldEvictAuthoredPosts() {
+        User u = User.builder().id(5L).name("Old").email("o@x.com").createdAt(Instant.now()).build();
+        when(userRepository.findById(5L)).thenReturn(Optional.of(u));
+        when(userRepository.save(u)).thenReturn(u);
+        when(postRepository.findIdsByAuthorId(5L)).thenReturn(List.of(9L));
+
+        CreateUserRequest req = new CreateUserRequest();
+        req.setName("New");
+        req.setEmail("o@x.com");
+        userService.updateUser(5L, req);
+
+        verify(cacheInvalidator).evictUser(5L);
+        verify(cacheInvalidator).evictPosts(List.of(9L));
+    }
+
+    @Test
+    void updateUser_whenOnlyEmailChanges_shouldNotTouchPostCache() {
+        User u = User.builder().id(5L).name("Same").email("o@x.com").createdAt(Instant.now()).build();
+        when(userRepository.findById(5L)).thenReturn(Optional.of(u));
+        when(userRepository.save(u)).thenReturn(u);
+
+        CreateUserRequest req = new CreateUserRequest();
+        req.setName("Same");
+        req.setEmail("n@x.com");
+        userService.updateUser(5L, req);
+
+        verify(cacheInvalidator).evictUser(5L);
+        verify(cacheInvalidator, never()).evictPosts(any());
+        // the old email no longer resolves, the new one may have been cached as unknown
+        verify(emailCache).evict(List.of("o@x.com", "n@x.com"));
+    }
+
+    @Test
+    void getUserIdByEmail_shouldResolveThroughTheCache() {
+        when(emailCache.findUserId("a@x.com")).thenReturn(Optional.of(7L));
+
+        assertThat(userService.getUserIdByEmail("a@x.com")).isEqualTo(7L);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getUserIdByEmail_whenUnknown_shouldThrowNotFound() {
+        when(emailCache.findUserId("nobody@x.com")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userService.getUserIdByEmail("nobody@x.com"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void createUsers_shouldSaveValidItemsAndReportTheRestByIndex() {
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of("Taken@x.com"));
+
+        BatchResult<UserDto> result = userService.createUsers(List.of(
+                userRequest("A", "a@x.com"),
+                userRequest("", "b@x.com"),
+                userRequest("C", "taken@x.com"),
+                userRequest("D", "A@x.com")));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getItems().get(0).getData().getEmail()).isEqualTo("a@x.com");
+        assertThat(result.getItems().get(0).getErrors()).isNull();
+        assertThat(result.getItems().get(1).getErrors()).containsExactly("name: Name must not be blank");
+        assertThat(result.getItems().get(2).getErrors()).containsExactly("email: Email is already in use");
+        assertThat(result.getItems().get(3).getErrors()).containsExactly("email: Email is already in use");
+        verify(userRepository).saveAll(argThat(users -> users.iterator().next().getEmail().equals("a@x.com")));
+    }
+
+    @Test
+    void createUsers_whenOverTheLimit_shouldThrowBadRequest() {
+        List<CreateUserRequest> items = new ArrayList<>(Collections.nCopies(new BatchProperties().getMaxItems() + 1,
+                userRequest("A", "a@x.com")));
+        assertThatThrownBy(() -> userService.createUsers(items)).isInstanceOf(BadRequestException.class);
+        verify(userRepository, never()).saveAll(any());
+    }
+
+    private CreateUserRequest userRequest(String name, String email) {
+        CreateUserRequest req = new CreateUserRequest();
+        req.setName(name);
+        req.setEmail(email);
+        return req;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.blog_api.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SlidingWindowSketchTest {
+
+    /* 1h in 4 buckets of 15 minutes */
+    private static final Duration WINDOW = Duration.ofHours(1);
+    private static final Duration BUCKET = Duration.ofMinutes(15);
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final SlidingWindowSketch sketch = new SlidingWindowSketch(WINDOW, 4, 1024, 4, 64, START);
+
+    @Test
+    void top_shouldRankByCountHighestFirst() {
+        record(1L, 5);
+        record(2L, 50);
+        record(3L, 20);
+
+        assertThat(sketch.top(10)).containsExactly(
+                new TrendingEntry(2L, 50), new TrendingEntry(3L, 20), new TrendingEntry(1L, 5));
+        assertThat(sketch.top(2)).extracting(TrendingEntry::postId).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void top_shouldListTiesOldestPostFirst() {
+        record(9L, 8);
+        record(4L, 8);
+
+        assertThat(sketch.top(10)).extracting(TrendingEntry::postId).containsExactly(4L, 9L);
+    }
+
+    @Test
+    void advance_shouldKeepCountsUntilTheirBucketSlidesOut() {
+        record(1L, 10);
+        sketch.advance(START.plus(BUCKET));
+        record(1L, 5);
+        record(2L, 7);
+
+        assertThat(sketch.top(10)).containsExactly(new TrendingEntry(1L, 15), new TrendingEntry(2L, 7));
+
+        // the first bucket is the oldest of the window until three more have closed after it
+        sketch.advance(START.plus(BUCKET.multipliedBy(3)));
+        assertThat(sketch.top(10)).containsExactly(new TrendingEntry(1L, 15), new TrendingEntry(2L, 7));
+
+        sketch.advance(START.plus(BUCKET.multipliedBy(4)));
+        assertThat(sketch.top(10)).containsExactly(new TrendingEntry(2L, 7), new TrendingEntry(1L, 5));
+    }
+
+    @Test
+    void advance_pastTheWholeWindow_shouldForgetEverything() {
+        record(1L, 10);
+        sketch.advance(START.plus(BUCKET));
+        record(2L, 3);
+
+        sketch.advance(START.plus(Duration.ofDays(2)));
+
+        assertThat(sketch.top(10)).isEmpty();
+    }
+
+    @Test
+    void record_fromManyThreads_shouldCountEveryEvent() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++) sketch.record(i % 2 == 0 ? 1L : 2L, 1);
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(sketch.top(10)).containsExactly(new TrendingEntry(1L, 40_000), new TrendingEntry(2L, 40_000));
+    }
+
+    @Test
+    void top_shouldFindTheHotPostsAmongManyColdOnes() {
+        for (long id = 1000; id < 6000; id++) sketch.record(id, 1);
+        record(7L, 300);
+        record(8L, 200);
+        sketch.advance(START.plus(BUCKET));
+        for (long id = 6000; id < 11000; id++) sketch.record(id, 1);
+        record(8L, 200);
+
+        List<TrendingEntry> top = sketch.top(2);
+
+        // estimates may only overcount, by collisions with the cold posts
+        assertThat(top).extracting(TrendingEntry::postId).containsExactly(8L, 7L);
+        assertThat(top.get(0).score()).isBetween(400L, 410L);
+        assertThat(top.get(1).score()).isBetween(300L, 310L);
+    }
+
+    @Test
+    void seed_shouldDropWhatSlidOutSinceTheSnapshot() {
+        sketch.seed(1L, 400, Duration.ZERO);
+        sketch.seed(2L, 400, BUCKET.multipliedBy(2));
+
+        // spread over the 4 buckets of the window, of which only the closed ones are filled
+        assertThat(sketch.top(10)).containsExactly(new TrendingEntry(1L, 300), new TrendingEntry(2L, 200));
+
+        sketch.seed(3L, 400, WINDOW);
+        assertThat(sketch.top(10)).extracting(TrendingEntry::postId).doesNotContain(3L);
+    }
+
+    private void record(long postId, int times) {
+        for (int i = 0; i < times; i++) sketch.record(postId, 1);
+    }
+}